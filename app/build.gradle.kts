@@ -47,6 +47,11 @@ android {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
+
+    // 로컬 단위 테스트에서 android.util.Log 등 Android API 호출 시 기본값 반환
+    testOptions {
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -26,14 +26,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.cookandroid.justspeakapp.adapter.ConversationAdapter;
 import com.cookandroid.justspeakapp.model.ConversationMessage;
+import com.cookandroid.justspeakapp.model.GrammarError;
 import com.cookandroid.justspeakapp.model.PronunciationFeedback;
 import com.cookandroid.justspeakapp.model.Scenario;
 import com.cookandroid.justspeakapp.service.GeminiService;
+import com.cookandroid.justspeakapp.service.SentenceSplitter;
 import com.cookandroid.justspeakapp.service.SpeechRecognitionService;
 import com.cookandroid.justspeakapp.service.TextToSpeechService;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
+import com.cookandroid.justspeakapp.data.FirestoreSyncQueue;
 import com.cookandroid.justspeakapp.data.UserDataManager;
 
 import java.util.ArrayList;
@@ -71,12 +74,20 @@ public class ConversationActivityWithAI extends AppCompatActivity {
     private GeminiService geminiService;
     private SpeechRecognitionService basicSpeechService;
     private TextToSpeechService ttsService;
+    private TextToSpeechService.CancellationToken replyToken; // 현재 AI 응답 음성 (새 응답/끼어들기 시 취소)
     private ConversationAdapter adapter;
     private List<ConversationMessage> messages;
 
     private Scenario currentScenario;
     private boolean isListening = false;
     private boolean isWaitingForAIResponse = false; // AI 응답 대기 중 플래그
+
+    // 끼어들기(barge-in): AI가 말하는 동안 미리 듣기 시작하고, 사용자가 말하면 AI 음성을 줄이며 중지
+    private static final long BARGE_IN_FADE_MS = 250;
+    private boolean bargeInEnabled;
+    private boolean bargeInArmed = false; // AI 음성 재생 중 듣는 상태 (아직 사용자가 말하지 않음)
+    private boolean bargeInTriggered = false; // 음성 활동으로 AI 음성을 끊었고 최종 결과를 기다리는 중
+    private String lastSpokenReply = "";  // 스피커 소리가 그대로 인식된 경우(에코) 걸러내기용
     private SharedPreferences prefs;
     private String userLevel;
 
@@ -86,6 +97,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
 
     // 학습 진도 관련
     private static final long LESSON_DURATION_MS = 3 * 60 * 1000; // 3분 = 1 레슨
+    private static final int CONTEXT_WINDOW_TURNS = 8; // AI에 그대로 전달할 최근 대화 턴 수 (이전 대화는 요약)
     private UserDataManager userDataManager;
     private Timer lessonTimer;
     private long conversationStartTime;
@@ -102,6 +114,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         prefs = getSharedPreferences("JustSpeakApp", MODE_PRIVATE);
         userLevel = prefs.getString("user_level", "Beginner");
         feedbackTiming = prefs.getInt("feedback_timing", 0); // 0=즉시, 1=종료 후, 2=끄기
+        bargeInEnabled = prefs.getBoolean("barge_in_enabled", true);
         userMessagesForFeedback = new ArrayList<>();
         userDataManager = new UserDataManager(this);
 
@@ -245,17 +258,55 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         basicSpeechService.setListener(new SpeechRecognitionService.SpeechRecognitionListener() {
             @Override
             public void onSpeechResult(String text, float confidence) {
+                if (bargeInArmed || bargeInTriggered) {
+                    bargeInArmed = false;
+                    bargeInTriggered = false;
+                    // 사용자가 말하지 않았는데 AI 음성이 그대로 인식된 경우 무시
+                    // (음성 활동 감지로 이미 AI 음성을 끊은 경우에도 최종 결과로 한 번 더 확인)
+                    if (isEchoOfSpokenReply(text)) {
+                        android.util.Log.d("Speech", "Ignoring echo of AI speech: " + text);
+                        if (ttsService != null && ttsService.isSpeaking()
+                                && basicSpeechService.isContinuousMode()) {
+                            bargeInArmed = true; // 연속 듣기 세션이 같은 인식기로 바로 다시 들음
+                        } else {
+                            endBargeInListening();
+                        }
+                        return;
+                    }
+                    basicSpeechService.setContinuousMode(false); // 이번 결과로 듣기 세션 종료
+                    cancelReplySpeech();
+                    if (ttsService != null) ttsService.interruptForBargeIn();
+                }
                 handleUserSpeech(text, confidence);
             }
 
             @Override
             public void onSpeechError(String error) {
                 runOnUiThread(() -> {
+                    // AI 음성 재생 중 미리 듣다가 난 오류는 안내하지 않음
+                    // (아직 읽는 중이면 연속 듣기 세션이 알아서 다시 듣기 시작, 아니면 세션 종료)
+                    if (bargeInArmed) {
+                        android.util.Log.d("Speech", "Barge-in listening error: " + error);
+                        if (!(ttsService != null && ttsService.isSpeaking()
+                                && basicSpeechService.isContinuousMode())) {
+                            endBargeInListening();
+                        }
+                        return;
+                    }
+
                     tvListeningStatus.setVisibility(View.GONE);
                     isListening = false;
 
+                    // 인식 실패 시 미리 시작한 AI 응답 취소
+                    if (geminiService != null) {
+                        geminiService.cancelSpeculativeReply();
+                    }
+
                     android.util.Log.e("Speech", "Error: " + error);
 
+                    bargeInTriggered = false;
+                    basicSpeechService.setContinuousMode(false);
+
                     // 사용자 친화적인 에러 메시지
                     String userMessage;
                     if (error.contains("No speech match")) {
@@ -278,7 +329,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
             public void onSpeechStart() {
                 runOnUiThread(() -> {
                     tvListeningStatus.setVisibility(View.VISIBLE);
-                    tvListeningStatus.setText("듣고 있습니다...");
+                    tvListeningStatus.setText(bargeInArmed ? "말씀하시면 AI가 멈춥니다..." : "듣고 있습니다...");
                 });
             }
 
@@ -289,6 +340,34 @@ public class ConversationActivityWithAI extends AppCompatActivity {
                     isListening = false;
                 });
             }
+
+            @Override
+            public void onVoiceActivity(String partialText) {
+                // AI가 말하는 중에 사용자가 말하기 시작하면 AI 음성을 줄이며 중지
+                runOnUiThread(() -> {
+                    if (!bargeInArmed) return;
+                    // 스피커 소리가 인식된 것이면 끊지 않고 계속 대기 (최종 결과에서 다시 확인)
+                    if (isEchoOfSpokenReply(partialText)) {
+                        android.util.Log.d("Speech", "Ignoring voice activity from AI speech: " + partialText);
+                        return;
+                    }
+                    bargeInArmed = false;
+                    bargeInTriggered = true;
+                    basicSpeechService.setContinuousMode(false); // 사용자 발화 결과로 듣기 세션 종료
+                    android.util.Log.d("Speech", "Barge-in detected");
+                    cancelReplySpeech();
+                    if (ttsService != null) ttsService.interruptForBargeIn(BARGE_IN_FADE_MS);
+                    tvListeningStatus.setText("듣고 있습니다...");
+                });
+            }
+
+            @Override
+            public void onStablePartialResult(String text) {
+                // 최종 결과를 기다리는 동안 AI 응답을 미리 요청 (최종 결과가 같으면 그대로 사용)
+                if (geminiService != null && geminiService.isInitialized() && !isWaitingForAIResponse) {
+                    geminiService.startSpeculativeReply(text);
+                }
+            }
         });
     }
 
@@ -310,7 +389,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         });
 
         fabMic.setOnClickListener(v -> {
-            if (!isListening) {
+            if (!isListening || bargeInArmed) {
                 startListening();
             } else {
                 stopListening();
@@ -392,16 +471,19 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         // 시나리오 ID 저장 및 타이머 시작
         currentScenarioId = scenarioId != null ? scenarioId : "scenario_daily";
         startLessonTimer();
+        userDataManager.saveLastScenario(currentScenarioId);
 
         // Gemini AI 대화 시작 - 시나리오 ID 직접 사용
         String scenarioIdForAI = scenarioId != null ? scenarioId : "scenario_daily";
         android.util.Log.d("Conversation", "Starting conversation with scenario ID: " + scenarioIdForAI);
 
         if (geminiService != null && geminiService.isInitialized()) {
+            // 레슨이 계속 이어져도 요청 크기가 일정하도록 대화 기록 윈도우 제한
+            geminiService.setContextWindowTurns(CONTEXT_WINDOW_TURNS);
             geminiService.startConversation(scenarioIdForAI, userLevel);
 
             // 시나리오별 AI 첫 인사
-            String greeting = getScenarioGreeting(scenarioIdForAI);
+            String greeting = Scenario.getGreeting(scenarioIdForAI);
             addAIMessage(greeting);
             speakMessage(greeting);
         } else {
@@ -424,10 +506,21 @@ public class ConversationActivityWithAI extends AppCompatActivity {
             return;
         }
 
-        // TTS가 말하고 있으면 먼저 중지
-        if (ttsService != null && ttsService.isSpeaking()) {
-            android.util.Log.d("Speech", "Stopping TTS before listening...");
-            ttsService.stop();
+        // AI 음성 재생 중 이미 듣고 있으면 AI 음성만 끊고 그대로 이어서 듣기
+        if (bargeInArmed) {
+            bargeInArmed = false;
+            basicSpeechService.setContinuousMode(false);
+            cancelReplySpeech();
+            if (ttsService != null) ttsService.interruptForBargeIn();
+            tvListeningStatus.setText("듣고 있습니다...");
+            return;
+        }
+
+        // 아직 도착 중인 AI 응답 문장도 더 이상 읽지 않도록 취소
+        cancelReplySpeech();
+        // TTS가 말하고 있으면 끊고 듣기 시작 (끼어들기)
+        if (ttsService != null && ttsService.interruptForBargeIn()) {
+            android.util.Log.d("Speech", "Interrupted TTS before listening");
         }
 
         android.util.Log.d("Speech", "Starting to listen...");
@@ -444,9 +537,16 @@ public class ConversationActivityWithAI extends AppCompatActivity {
 
     private void stopListening() {
         isListening = false;
+        bargeInArmed = false;
+        bargeInTriggered = false;
         tvListeningStatus.setVisibility(View.GONE);
 
+        if (geminiService != null) {
+            geminiService.cancelSpeculativeReply();
+        }
+
         if (basicSpeechService != null) {
+            basicSpeechService.setContinuousMode(false);
             basicSpeechService.stopListening();
         }
     }
@@ -476,7 +576,8 @@ public class ConversationActivityWithAI extends AppCompatActivity {
             android.util.Log.d("Conversation", "geminiService.isInitialized(): " + geminiService.isInitialized());
         }
 
-        if (geminiService == null || !geminiService.isInitialized()) {
+        // AI 미초기화 또는 장애로 서킷이 열린 경우 요청 없이 바로 오프라인 응답
+        if (geminiService == null || !geminiService.isInitialized() || geminiService.isChatCircuitOpen()) {
             // 오프라인 모드 - 기본 응답 제공
             android.util.Log.w("Conversation", "AI not available - using offline mode");
             String offlineResponse = getOfflineResponse(text);
@@ -492,18 +593,65 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         isWaitingForAIResponse = true;
         setInputEnabled(false);
 
-        // Gemini AI로 응답 생성
-        geminiService.sendMessage(text, new GeminiService.GeminiCallback() {
+        // 이전 응답 음성은 취소하고 이번 응답의 문장들은 같은 토큰으로 재생
+        cancelReplySpeech();
+        final TextToSpeechService.CancellationToken token = new TextToSpeechService.CancellationToken();
+        replyToken = token;
+
+        // Gemini AI로 응답 생성 (스트리밍: 도착하는 대로 말풍선 갱신, 완성된 문장부터 TTS 시작)
+        GeminiService.StreamCallback responseCallback = new GeminiService.StreamCallback() {
+            private final StringBuilder received = new StringBuilder();
+            private ConversationMessage streamingMessage;
+            private int spokenLength = 0;
+
             @Override
-            public void onSuccess(String aiResponse) {
-                android.util.Log.d("Conversation", "AI response SUCCESS: " + aiResponse);
+            public void onChunk(String chunk) {
+                runOnUiThread(() -> {
+                    // Activity 종료 중이면 UI 업데이트 건너뜀 (crash 방지)
+                    if (isFinishing() || isDestroyed()) return;
+                    received.append(chunk);
+
+                    if (streamingMessage == null) {
+                        streamingMessage = addAIMessage(received.toString().trim());
+                    } else {
+                        updateAIMessage(streamingMessage, received.toString().trim());
+                    }
+
+                    // 완성된 문장까지 먼저 읽기 시작
+                    int sentenceEnd = SentenceSplitter.findLastSentenceEnd(received, spokenLength);
+                    if (sentenceEnd > spokenLength) {
+                        speakStreamedText(received.substring(spokenLength, sentenceEnd), spokenLength == 0, token);
+                        spokenLength = sentenceEnd;
+                    }
+                });
+            }
+
+            @Override
+            public void onComplete(String aiResponse) {
+                android.util.Log.d("Conversation", "AI response SUCCESS: " + aiResponse
+                        + " (TTFT: " + geminiService.getLastTimeToFirstTokenMs() + "ms)");
                 runOnUiThread(() -> {
                     // Activity 종료 중이면 UI 업데이트 건너뜀 (crash 방지)
                     if (isFinishing() || isDestroyed()) return;
                     isWaitingForAIResponse = false;
                     setInputEnabled(true);
-                    addAIMessage(aiResponse);
-                    speakMessage(aiResponse);
+
+                    if (streamingMessage == null) {
+                        addAIMessage(aiResponse);
+                    } else {
+                        updateAIMessage(streamingMessage, aiResponse);
+                    }
+
+                    // 아직 읽지 않은 나머지 부분 재생
+                    if (spokenLength < received.length()) {
+                        speakStreamedText(received.substring(spokenLength), spokenLength == 0, token);
+                        spokenLength = received.length();
+                    }
+
+                    // 응답을 다 받은 뒤에도 읽는 중이면 끼어들기 대기
+                    if (ttsService != null && ttsService.isSpeaking()) {
+                        armBargeIn();
+                    }
                 });
             }
 
@@ -517,13 +665,110 @@ public class ConversationActivityWithAI extends AppCompatActivity {
                     setInputEnabled(true);
                     Toast.makeText(ConversationActivityWithAI.this,
                             error, Toast.LENGTH_LONG).show();
-                    // 폴백 응답
-                    String fallbackResponse = "I see. Could you tell me more about that?";
-                    addAIMessage(fallbackResponse);
-                    speakMessage(fallbackResponse);
+
+                    // 일부 응답이 이미 표시된 경우 그대로 두고, 없을 때만 폴백 응답
+                    // (그 사이 새 응답이나 끼어들기로 취소됐으면 읽지 않음)
+                    if (streamingMessage == null) {
+                        String fallbackResponse = "I see. Could you tell me more about that?";
+                        addAIMessage(fallbackResponse);
+                        speakStreamedText(fallbackResponse, true, token);
+                    }
                 });
             }
-        });
+        };
+
+        // 부분 인식 결과로 미리 시작한 응답이 최종 결과와 같으면 그대로 사용, 아니면 새로 요청
+        if (!geminiService.trySendSpeculative(text, responseCallback)) {
+            geminiService.sendMessageStream(text, responseCallback);
+        }
+    }
+
+    // 스트리밍 응답 재생: 첫 문장은 이전 재생을 끊고 시작, 이후 문장은 이어서 재생
+    // (Cloud TTS는 앞 문장 재생 중에 다음 문장을 미리 합성)
+    // 토큰이 취소된 응답(새 응답 시작, 끼어들기)의 문장은 큐에서 버려짐
+    private void speakStreamedText(String text, boolean isFirst, TextToSpeechService.CancellationToken token) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || token.isCancelled()) return;
+
+        if (ttsService == null || !ttsService.isInitialized()) {
+            speakMessage(trimmed); // 준비 안 됨 안내
+            return;
+        }
+        if (isFirst) {
+            ttsService.stop();
+            lastSpokenReply = trimmed;
+        } else {
+            lastSpokenReply = lastSpokenReply + " " + trimmed;
+        }
+        TextToSpeechService.UtteranceCallback callback = new TextToSpeechService.UtteranceCallback() {
+            @Override
+            public void onStart() {
+                // 첫 문장 재생이 시작되면 끼어들기 대기
+                if (isFirst) armBargeIn();
+            }
+
+            @Override
+            public void onDone() {
+                // 마지막 문장까지 다 읽었는데 사용자가 말하지 않았으면 미리 듣기 종료
+                if (bargeInArmed && !isWaitingForAIResponse && !ttsService.isSpeaking()) {
+                    endBargeInListening();
+                }
+            }
+        };
+        ttsService.queue(trimmed, TextToSpeechService.Priority.NORMAL, token, callback);
+    }
+
+    /**
+     * AI 음성 재생 중 미리 듣기 시작 (끼어들기 모드)
+     * 응답을 아직 받는 중이면 시작하지 않음 (응답 완료 시 다시 호출됨)
+     */
+    private void armBargeIn() {
+        if (!bargeInEnabled || bargeInArmed || isListening || isWaitingForAIResponse
+                || isFinishing() || isDestroyed() || basicSpeechService == null) {
+            return;
+        }
+        if (ContextCompat.checkSelfPermission(this,
+                Manifest.permission.RECORD_AUDIO) != PackageManager.PERMISSION_GRANTED) {
+            return;
+        }
+
+        android.util.Log.d("Speech", "Arming barge-in listening");
+        bargeInArmed = true;
+        isListening = true;
+        tvListeningStatus.setVisibility(View.VISIBLE);
+        tvListeningStatus.setText("말씀하시면 AI가 멈춥니다...");
+        // AI가 읽는 동안 말이 없어 인식이 끝나도 같은 인식기로 바로 다시 듣기 (오류 안내 없음)
+        basicSpeechService.setContinuousMode(true);
+        basicSpeechService.startListening();
+    }
+
+    // 사용자가 끼어들지 않고 AI 음성이 끝난 경우 미리 듣기 세션 종료 (결과 없이 취소)
+    private void endBargeInListening() {
+        bargeInArmed = false;
+        isListening = false;
+        tvListeningStatus.setVisibility(View.GONE);
+        if (basicSpeechService != null) {
+            basicSpeechService.setContinuousMode(false);
+            basicSpeechService.cancel();
+        }
+    }
+
+    // 인식 결과가 방금 읽은 AI 응답의 일부이면 스피커 소리가 다시 인식된 것으로 판단
+    private boolean isEchoOfSpokenReply(String text) {
+        String heard = normalizeForEcho(text);
+        return !heard.isEmpty() && normalizeForEcho(lastSpokenReply).contains(heard);
+    }
+
+    private static String normalizeForEcho(String text) {
+        if (text == null) return "";
+        return text.toLowerCase(java.util.Locale.US).replaceAll("[^a-z0-9 ]", " ").replaceAll("\\s+", " ").trim();
+    }
+
+    private void cancelReplySpeech() {
+        if (replyToken != null) {
+            replyToken.cancel();
+            replyToken = null;
+        }
     }
 
     // 입력 활성화/비활성화
@@ -908,72 +1153,6 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         }
     }
 
-    // 시나리오별 첫 인사 메시지
-    private String getScenarioGreeting(String scenarioId) {
-        if (scenarioId == null) {
-            return "Hi! Let's practice English together. How are you today?";
-        }
-
-        switch (scenarioId) {
-            case "scenario_daily":
-            case "daily_conversation":
-            case "daily":
-                return "Hi! Let's have a casual chat. How was your day today?";
-
-            case "scenario_travel":
-            case "travel_english":
-            case "travel":
-                return "Welcome! I'm here to help you practice travel English. Are you planning a trip soon?";
-
-            case "scenario_shopping":
-                return "Hello! Welcome to our store. Can I help you find something today?";
-
-            case "scenario_restaurant":
-                return "Good evening! Welcome to our restaurant. Would you like to see the menu?";
-
-            case "scenario_business":
-                return "Good morning. Let's practice some business English. What would you like to discuss today?";
-
-            case "scenario_hotel":
-                return "Welcome to our hotel! Do you have a reservation, or would you like to book a room?";
-
-            case "scenario_airport":
-                return "Hello! Welcome to the airport. May I see your passport and boarding pass?";
-
-            case "scenario_medical":
-                return "Hello, I'm the doctor. What brings you in today? How are you feeling?";
-
-            case "scenario_phone":
-                return "Hello, this is the customer service line. How may I help you today?";
-
-            case "scenario_job_interview":
-            case "interview_prep":
-            case "interview":
-                return "Hello, thank you for coming in today. Please have a seat. Can you tell me a little about yourself?";
-
-            case "scenario_presentation":
-                return "Let's practice your presentation skills. What topic would you like to present on?";
-
-            case "scenario_meeting":
-                return "Good morning everyone. Let's start our meeting. What's on the agenda today?";
-
-            case "scenario_negotiation":
-                return "Thank you for meeting with me today. Shall we discuss the terms of our agreement?";
-
-            case "scenario_email":
-                return "Let's practice writing professional emails. What kind of email do you need to write?";
-
-            case "scenario_debate":
-                return "Welcome to our discussion session. What topic would you like to debate today?";
-
-            case "scenario_networking":
-                return "Hi there! Nice to meet you. So, what brings you to this event?";
-
-            default:
-                return "Hi! Let's practice English together. What would you like to talk about?";
-        }
-    }
-
     // 오프라인 모드용 기본 응답
     private String getOfflineResponse(String userText) {
         String lowerText = userText.toLowerCase();
@@ -1081,6 +1260,34 @@ public class ConversationActivityWithAI extends AppCompatActivity {
             cardFeedback.setVisibility(View.VISIBLE);
         });
 
+        // 문법 + 어휘 통합 분석 (한 번의 요청)
+        geminiService.analyzeTurn(userText, new GeminiService.TurnAnalysisCallback() {
+            @Override
+            public void onSuccess(List<GrammarError> grammarErrors, List<String> vocabularySuggestions) {
+                currentTurnGrammarFeedback = formatGrammarFeedback(grammarErrors);
+                currentTurnVocabFeedback = formatVocabFeedback(vocabularySuggestions);
+                updateCurrentTurnFeedback();
+            }
+
+            @Override
+            public void onParseFailed() {
+                // 구조화된 응답 파싱 실패 시에만 개별 분석으로 폴백
+                android.util.Log.w("Feedback", "Turn analysis parse failed - falling back to separate requests");
+                requestSeparateFeedback(userText);
+            }
+
+            @Override
+            public void onError(String error) {
+                android.util.Log.e("Feedback", "Turn analysis error: " + error);
+                currentTurnGrammarFeedback = ""; // 에러 시 빈 문자열
+                currentTurnVocabFeedback = "";
+                updateCurrentTurnFeedback();
+            }
+        });
+    }
+
+    // 통합 분석 실패 시 폴백: 문법 분석과 어휘 제안을 각각 요청
+    private void requestSeparateFeedback(String userText) {
         // 문법 분석
         geminiService.analyzeGrammar(userText, new GeminiService.GeminiCallback() {
             @Override
@@ -1114,6 +1321,33 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         });
     }
 
+    private String formatGrammarFeedback(List<GrammarError> grammarErrors) {
+        if (grammarErrors.isEmpty()) {
+            return "Good job! Your grammar is correct.";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (GrammarError error : grammarErrors) {
+            builder.append("\n• ");
+            if (!error.getIncorrectText().isEmpty() && !error.getCorrectedText().isEmpty()) {
+                builder.append("\"").append(error.getIncorrectText()).append("\" → \"")
+                        .append(error.getCorrectedText()).append("\"");
+            }
+            if (!error.getExplanation().isEmpty()) {
+                builder.append(" (").append(error.getExplanation()).append(")");
+            }
+        }
+        return builder.toString();
+    }
+
+    private String formatVocabFeedback(List<String> vocabularySuggestions) {
+        StringBuilder builder = new StringBuilder();
+        for (String suggestion : vocabularySuggestions) {
+            builder.append("\n• ").append(suggestion);
+        }
+        return builder.toString();
+    }
+
     // 현재 턴의 피드백 업데이트 (문법/어휘 둘 다 준비되면 표시)
     private void updateCurrentTurnFeedback() {
         runOnUiThread(() -> {
@@ -1252,7 +1486,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         rvChatMessages.smoothScrollToPosition(messages.size() - 1);
     }
 
-    private void addAIMessage(String text) {
+    private ConversationMessage addAIMessage(String text) {
         ConversationMessage message = new ConversationMessage(
                 UUID.randomUUID().toString(),
                 currentScenario.getId(),
@@ -1261,6 +1495,15 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         messages.add(message);
         adapter.notifyItemInserted(messages.size() - 1);
         rvChatMessages.smoothScrollToPosition(messages.size() - 1);
+        return message;
+    }
+
+    // 스트리밍 중인 AI 말풍선 내용 갱신
+    private void updateAIMessage(ConversationMessage message, String text) {
+        int position = messages.indexOf(message);
+        if (position < 0) return;
+        message.setText(text);
+        adapter.notifyItemChanged(position);
     }
 
     // 초기화 되지 않은 상태라면, TTS 준비 x
@@ -1282,6 +1525,7 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         stopLessonTimer();
 
         if (basicSpeechService != null) {
+            android.util.Log.d("Speech", "Recognizer stats: " + basicSpeechService.getStats());
             // Listener 정리하여 Activity 참조 해제 (메모리 누수 방지)
             basicSpeechService.setListener(null);
             basicSpeechService.destroy();
@@ -1292,5 +1536,10 @@ public class ConversationActivityWithAI extends AppCompatActivity {
         if (ttsService != null) {
             ttsService.shutdown();
         }
+
+        // 레슨 중 모아둔 학습 기록을 화면을 떠날 때 바로 전송
+        FirestoreSyncQueue syncQueue = FirestoreSyncQueue.getInstance(this);
+        android.util.Log.d("Sync", "Firestore sync stats: " + syncQueue.getStats());
+        syncQueue.flushNow();
     }
 }
@@ -20,6 +20,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.cookandroid.justspeakapp.adapter.ConversationAdapter;
 import com.cookandroid.justspeakapp.data.UserDataManager;
+import com.cookandroid.justspeakapp.data.UserProfile;
 import com.cookandroid.justspeakapp.model.ConversationMessage;
 import com.cookandroid.justspeakapp.service.GeminiService;
 import com.cookandroid.justspeakapp.service.TextToSpeechService;
@@ -113,34 +114,18 @@ public class LevelTestConversationActivity extends AppCompatActivity implements
     }
 
     private void loadUserDataAndStart() {
-        showLoading("사용자 정보를 불러오는 중...");
-
-        userDataManager.getUserData(new UserDataManager.DataCallback() {
-            @Override
-            public void onSuccess(java.util.Map<String, Object> data) {
-                userInterests = (String) data.get("interests");
-                learningGoal = (String) data.get("learning_goal");
-
-                if (userInterests == null) userInterests = "general";
-                if (learningGoal == null) learningGoal = "speaking";
+        UserProfile profile = userDataManager.getProfile();
+        if (profile != null) {
+            userInterests = profile.getInterests();
+            learningGoal = profile.getLearningGoal();
+        } else {
+            Log.e(TAG, "Error loading user data: User not logged in");
+        }
 
-                runOnUiThread(() -> {
-                    hideLoading();
-                    startConversation();
-                });
-            }
+        if (userInterests == null) userInterests = "general";
+        if (learningGoal == null) learningGoal = "speaking";
 
-            @Override
-            public void onError(String error) {
-                Log.e(TAG, "Error loading user data: " + error);
-                userInterests = "general";
-                learningGoal = "speaking";
-                runOnUiThread(() -> {
-                    hideLoading();
-                    startConversation();
-                });
-            }
-        });
+        startConversation();
     }
 
     private void startConversation() {
@@ -16,6 +16,8 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.cookandroid.justspeakapp.data.UserDataManager;
 import com.cookandroid.justspeakapp.service.GeminiService;
+import com.cookandroid.justspeakapp.service.GoogleCloudTTSService;
+import com.cookandroid.justspeakapp.service.TextToSpeechService;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -27,6 +29,7 @@ import java.util.Map;
 
 public class LevelTestQuizActivity extends AppCompatActivity {
     private static final String TAG = "LevelTestQuizActivity";
+    private static final int PRE_RENDER_AHEAD = 2; // 미리 합성할 문제 수 (현재 + 다음)
 
     private TextView tvQuestion, tvQuestionNumber;
     private RadioGroup rgAnswers;
@@ -35,6 +38,8 @@ public class LevelTestQuizActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private SharedPreferences prefs;
     private GeminiService geminiService;
+    private TextToSpeechService ttsService; // 문제를 처음 눌렀을 때 생성 (재생용)
+    private GoogleCloudTTSService synthesizer; // 앱 공용 합성기 (미리 합성용, 키가 없으면 null)
     private UserDataManager userDataManager;
 
     private List<Question> questions;
@@ -62,6 +67,9 @@ public class LevelTestQuizActivity extends AppCompatActivity {
             geminiService = null;
         }
 
+        // 문제 음성 미리 합성용 (재생 엔진은 문제를 처음 눌렀을 때 생성)
+        synthesizer = GoogleCloudTTSService.getSharedSynthesizer(this);
+
         initViews();
         setupListeners();
         loadUserDataAndGenerateQuestions();
@@ -116,9 +124,7 @@ public class LevelTestQuizActivity extends AppCompatActivity {
             Log.w(TAG, "Gemini service not available, loading default questions");
             runOnUiThread(() -> {
                 loadDefaultQuestions();
-                questionsLoaded = true;
-                showLoading(false);
-                displayQuestion();
+                onQuestionsLoaded();
                 Toast.makeText(this, "AI 연결 실패. 기본 문제로 진행합니다.", Toast.LENGTH_SHORT).show();
             });
             return;
@@ -152,16 +158,12 @@ public class LevelTestQuizActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     try {
                         parseQuestionsFromJson(response);
-                        questionsLoaded = true;
-                        showLoading(false);
-                        displayQuestion();
+                        onQuestionsLoaded();
                     } catch (JSONException e) {
                         Log.e(TAG, "Failed to parse questions JSON", e);
                         // Fallback to default questions
                         loadDefaultQuestions();
-                        questionsLoaded = true;
-                        showLoading(false);
-                        displayQuestion();
+                        onQuestionsLoaded();
                         Toast.makeText(LevelTestQuizActivity.this,
                                 "AI 문제 생성 실패. 기본 문제로 진행합니다.", Toast.LENGTH_SHORT).show();
                     }
@@ -174,9 +176,7 @@ public class LevelTestQuizActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     // Fallback to default questions
                     loadDefaultQuestions();
-                    questionsLoaded = true;
-                    showLoading(false);
-                    displayQuestion();
+                    onQuestionsLoaded();
                     Toast.makeText(LevelTestQuizActivity.this,
                             "AI 연결 실패. 기본 문제로 진행합니다.", Toast.LENGTH_SHORT).show();
                 });
@@ -282,6 +282,59 @@ public class LevelTestQuizActivity extends AppCompatActivity {
         Log.d(TAG, "Loaded " + questions.size() + " default questions with balanced difficulty");
     }
 
+    private void onQuestionsLoaded() {
+        questionsLoaded = true;
+        showLoading(false);
+        displayQuestion();
+    }
+
+    // 현재 문제와 다음 문제(최대 PRE_RENDER_AHEAD개)의 음성만 미리 합성
+    // 이미 캐시된 문제는 건너뛰므로 문제를 넘길 때마다 새 요청은 최대 1개
+    private void preRenderQuestionAudio() {
+        if (synthesizer == null) {
+            return;
+        }
+
+        List<String> texts = new ArrayList<>();
+        int end = Math.min(currentQuestionIndex + PRE_RENDER_AHEAD, questions.size());
+        for (int i = currentQuestionIndex; i < end; i++) {
+            texts.add(toSpeechText(questions.get(i).getQuestion()));
+        }
+        synthesizer.synthesizeAll(texts, userDataManager.getVoiceGender(), userDataManager.getVoiceSpeed(),
+                (synthesized, failed) -> Log.d(TAG, "Pre-rendered question audio: "
+                        + synthesized + " synthesized, " + failed + " failed"));
+    }
+
+    // 빈칸(___)은 "blank"로 읽음
+    private static String toSpeechText(String questionText) {
+        return questionText.replaceAll("_{2,}", "blank");
+    }
+
+    private void speakCurrentQuestion() {
+        if (!questionsLoaded || currentQuestionIndex >= questions.size()) {
+            return;
+        }
+
+        if (ttsService == null) {
+            // 처음 누른 경우에만 재생 엔진 초기화 후 재생
+            // Handler.post()를 사용하여 ttsService 할당이 완료된 후 실행되도록 함
+            ttsService = new TextToSpeechService(this, success -> new android.os.Handler(getMainLooper()).post(() -> {
+                if (!success || ttsService == null) {
+                    Log.w(TAG, "TTS initialization failed");
+                    return;
+                }
+                // 미리 합성할 때와 같은 음성/속도여야 캐시가 그대로 사용됨
+                ttsService.applySettings(userDataManager.getVoiceGender(), userDataManager.getVoiceSpeed());
+                speakCurrentQuestion();
+            }));
+            return;
+        }
+        if (!ttsService.isInitialized()) {
+            return;
+        }
+        ttsService.speak(toSpeechText(questions.get(currentQuestionIndex).getQuestion()));
+    }
+
     private void showLoading(boolean show) {
         if (show) {
             progressBar.setVisibility(View.VISIBLE);
@@ -310,6 +363,7 @@ public class LevelTestQuizActivity extends AppCompatActivity {
             rbOption4.setText(options[3]);
 
             rgAnswers.clearCheck();
+            preRenderQuestionAudio();
 
             if (currentQuestionIndex == questions.size() - 1) {
                 btnNext.setText("완료");
@@ -318,6 +372,9 @@ public class LevelTestQuizActivity extends AppCompatActivity {
     }
 
     private void setupListeners() {
+        // 문제를 누르면 음성으로 듣기
+        tvQuestion.setOnClickListener(v -> speakCurrentQuestion());
+
         btnNext.setOnClickListener(v -> {
             int selectedId = rgAnswers.getCheckedRadioButtonId();
 
@@ -342,6 +399,9 @@ public class LevelTestQuizActivity extends AppCompatActivity {
             }
 
             currentQuestionIndex++;
+            if (ttsService != null) {
+                ttsService.stop();
+            }
 
             if (currentQuestionIndex < questions.size()) {
                 displayQuestion();
@@ -386,6 +446,14 @@ public class LevelTestQuizActivity extends AppCompatActivity {
         finish();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (ttsService != null) {
+            ttsService.shutdown();
+        }
+    }
+
     // Question 클래스
     private static class Question {
         private final String question;
@@ -2,6 +2,7 @@ package com.cookandroid.justspeakapp;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
+import androidx.lifecycle.Lifecycle;
 
 import android.content.Intent;
 import android.content.SharedPreferences;
@@ -15,9 +16,13 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.cookandroid.justspeakapp.data.UserDataManager;
+import com.cookandroid.justspeakapp.data.UserProfile;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.cookandroid.justspeakapp.model.LearningProgress;
+import com.cookandroid.justspeakapp.service.GreetingPrefetcher;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class MainActivity extends AppCompatActivity {
@@ -37,6 +42,17 @@ public class MainActivity extends AppCompatActivity {
     private LearningProgress learningProgress;
     private SharedPreferences sharedPreferences;
     private UserDataManager userDataManager;
+    private GreetingPrefetcher greetingPrefetcher;
+
+    // 홈 화면을 보고 있는 동안 레벨 테스트 기록이 초기화되면(클라우드 동기화 등) 레벨 테스트 화면으로 이동
+    // 다른 화면이 위에 있을 때(설정에서 계정 삭제 등)는 그 화면의 이동을 방해하지 않도록 무시
+    private final UserDataManager.ProfileListener profileListener = profile -> {
+        if (!profile.isLevelTestCompleted() && !isFinishing()
+                && getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            Log.d(TAG, "Level test no longer completed, redirecting to LevelTestActivity");
+            goToLevelTest();
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -50,39 +66,38 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void checkLevelTestCompletion() {
-        userDataManager.getUserData(new UserDataManager.DataCallback() {
-            @Override
-            public void onSuccess(Map<String, Object> data) {
-                Boolean levelTestCompleted = (Boolean) data.get("level_test_completed");
-
-                if (levelTestCompleted == null || !levelTestCompleted) {
-                    // 레벨 테스트를 완료하지 않았으면 LevelTestActivity로 이동
-                    Log.d(TAG, "Level test not completed, redirecting to LevelTestActivity");
-                    Toast.makeText(MainActivity.this,
-                            "학습을 시작하려면 먼저 레벨 테스트를 완료해주세요",
-                            Toast.LENGTH_LONG).show();
-
-                    Intent intent = new Intent(MainActivity.this, LevelTestActivity.class);
-                    intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                    startActivity(intent);
-                    finish();
-                } else {
-                    // 레벨 테스트를 완료했으면 정상적으로 MainActivity 초기화
-                    Log.d(TAG, "Level test completed, initializing MainActivity");
-                    initializeMainActivity();
-                }
-            }
+        UserProfile profile = userDataManager.getProfile();
+        if (profile == null) {
+            Log.e(TAG, "Error checking level test completion: User not logged in");
+            // 에러가 발생해도 일단 MainActivity는 보여줌
+            initializeMainActivity();
+            return;
+        }
 
-            @Override
-            public void onError(String error) {
-                Log.e(TAG, "Error checking level test completion: " + error);
-                // 에러가 발생해도 일단 MainActivity는 보여줌
-                initializeMainActivity();
-            }
-        });
+        if (!profile.isLevelTestCompleted()) {
+            // 레벨 테스트를 완료하지 않았으면 LevelTestActivity로 이동
+            Log.d(TAG, "Level test not completed, redirecting to LevelTestActivity");
+            goToLevelTest();
+        } else {
+            // 레벨 테스트를 완료했으면 정상적으로 MainActivity 초기화
+            Log.d(TAG, "Level test completed, initializing MainActivity");
+            initializeMainActivity();
+        }
+    }
+
+    private void goToLevelTest() {
+        Toast.makeText(MainActivity.this,
+                "학습을 시작하려면 먼저 레벨 테스트를 완료해주세요",
+                Toast.LENGTH_LONG).show();
+
+        Intent intent = new Intent(MainActivity.this, LevelTestActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        startActivity(intent);
+        finish();
     }
 
     private void initializeMainActivity() {
+        UserDataManager.addProfileListener(profileListener);
         initViews();
         loadProgress();
         updateProgressUI();
@@ -90,6 +105,20 @@ public class MainActivity extends AppCompatActivity {
 
         // 클라우드에서 음성 설정 동기화
         syncCloudSettings();
+
+        // 홈 화면 시나리오 카드의 인사말 음성 미리 합성
+        prefetchLikelyGreetings();
+    }
+
+    private void prefetchLikelyGreetings() {
+        List<String> homeScenarios = Arrays.asList(
+                "scenario_daily", "scenario_travel", "scenario_job_interview", "scenario_business");
+
+        greetingPrefetcher = new GreetingPrefetcher(this,
+                userDataManager.getVoiceGender(), userDataManager.getVoiceSpeed());
+        greetingPrefetcher.prefetch(GreetingPrefetcher.rankScenarios(
+                userDataManager.getLastScenario(), userDataManager.getAllScenarioProgress(), homeScenarios,
+                GreetingPrefetcher.DEFAULT_PREFETCH_COUNT));
     }
 
     private void syncCloudSettings() {
@@ -236,4 +265,10 @@ public class MainActivity extends AppCompatActivity {
         super.onPause();
         // 진도는 UserDataManager를 통해 저장되므로 별도 저장 불필요
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        UserDataManager.removeProfileListener(profileListener);
+    }
 }
\ No newline at end of file
@@ -6,12 +6,15 @@ import android.widget.Button;
 import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.cookandroid.justspeakapp.service.HttpClientProvider;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
 public class NetworkTestActivity extends AppCompatActivity {
     private static final String TAG = "NetworkTest";
@@ -38,18 +41,11 @@ public class NetworkTestActivity extends AppCompatActivity {
     private void testHttpConnection() {
         appendResult("\n=== Testing Basic HTTP ===\n");
         executorService.submit(() -> {
-            try {
-                // Test Google (reliable, fast)
-                URL url = new URL("https://www.google.com");
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setConnectTimeout(5000);
-                connection.setReadTimeout(5000);
-                connection.setRequestMethod("GET");
-
-                int responseCode = connection.getResponseCode();
-                String result = "✅ Google: " + responseCode + " " + connection.getResponseMessage();
-                appendResult(result + "\n");
-                connection.disconnect();
+            // Test Google (reliable, fast)
+            Request request = new Request.Builder().url("https://www.google.com").build();
+            try (Response response = newClient(5).newCall(request).execute()) {
+                String result = "✅ Google: " + response.code() + " " + response.message();
+                appendResult(result + "\n" + formatTimings());
                 Log.d(TAG, result);
             } catch (Exception e) {
                 String error = "❌ Google: " + e.getMessage();
@@ -71,17 +67,10 @@ public class NetworkTestActivity extends AppCompatActivity {
     }
 
     private void testEndpoint(String urlString, String name) {
-        try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(10000);
-            connection.setReadTimeout(10000);
-            connection.setRequestMethod("GET");
-
-            int responseCode = connection.getResponseCode();
-            String result = "✅ " + name + ": " + responseCode + " " + connection.getResponseMessage();
-            appendResult(result + "\n");
-            connection.disconnect();
+        Request request = new Request.Builder().url(urlString).build();
+        try (Response response = newClient(10).newCall(request).execute()) {
+            String result = "✅ " + name + ": " + response.code() + " " + response.message();
+            appendResult(result + "\n" + formatTimings());
             Log.d(TAG, result);
         } catch (java.net.UnknownHostException e) {
             String error = "❌ " + name + ": DNS resolution failed - No internet or DNS issue";
@@ -98,6 +87,25 @@ public class NetworkTestActivity extends AppCompatActivity {
         }
     }
 
+    // 공용 클라이언트의 연결 풀을 그대로 쓰고 타임아웃만 변경
+    private OkHttpClient newClient(int timeoutSeconds) {
+        return HttpClientProvider.get().newBuilder()
+                .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    // 마지막 요청의 구간별 소요 시간 (DNS/연결/TLS/첫 바이트)
+    private String formatTimings() {
+        HttpClientProvider.CallTimings timings = HttpClientProvider.getLastTimings();
+        if (timings == null) {
+            return "";
+        }
+        return "   " + timings.protocol + (timings.connectionReused ? " (reused)" : "")
+                + " dns " + timings.dnsMs + "ms, connect " + timings.connectMs
+                + "ms, tls " + timings.tlsMs + "ms, ttfb " + timings.timeToFirstByteMs + "ms\n";
+    }
+
     private void appendResult(String text) {
         runOnUiThread(() -> {
             String current = tvResults.getText().toString();
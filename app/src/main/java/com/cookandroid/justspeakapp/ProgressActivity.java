@@ -13,7 +13,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.cookandroid.justspeakapp.adapter.ScenarioProgressAdapter;
 import com.cookandroid.justspeakapp.data.UserDataManager;
+import com.cookandroid.justspeakapp.data.UserProfile;
 import com.cookandroid.justspeakapp.model.ScenarioProgress;
+import com.cookandroid.justspeakapp.service.GeminiResponseCache;
 import com.cookandroid.justspeakapp.service.GeminiService;
 
 import java.text.SimpleDateFormat;
@@ -39,6 +41,9 @@ public class ProgressActivity extends AppCompatActivity {
     private GeminiService geminiService;
     private SharedPreferences quotePrefs;
 
+    // 화면이 열려 있는 동안 레벨/관심사 등이 저장되거나 동기화되면 바로 다시 표시
+    private final UserDataManager.ProfileListener profileListener = this::displayProgressData;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -61,6 +66,7 @@ public class ProgressActivity extends AppCompatActivity {
         setupListeners();
         loadProgressData();
         loadDailyQuote();
+        UserDataManager.addProfileListener(profileListener);
     }
 
     private void initViews() {
@@ -79,22 +85,15 @@ public class ProgressActivity extends AppCompatActivity {
     }
 
     private void loadProgressData() {
-        userDataManager.getUserData(new UserDataManager.DataCallback() {
-            @Override
-            public void onSuccess(Map<String, Object> data) {
-                runOnUiThread(() -> {
-                    displayProgressData(data);
-                });
-            }
-
-            @Override
-            public void onError(String error) {
-                Log.e(TAG, "Error loading progress data: " + error);
-            }
-        });
+        UserProfile profile = userDataManager.getProfile();
+        if (profile == null) {
+            Log.e(TAG, "Error loading progress data: User not logged in");
+            return;
+        }
+        displayProgressData(profile);
     }
 
-    private void displayProgressData(Map<String, Object> data) {
+    private void displayProgressData(UserProfile profile) {
         // 전체 진도 계산 - 모든 시나리오의 진도 합산
         Map<String, Map<String, Integer>> savedProgress = userDataManager.getAllScenarioProgress();
 
@@ -119,7 +118,7 @@ public class ProgressActivity extends AppCompatActivity {
         progressTotal.setProgress(progress);
 
         // 시나리오별 진도
-        List<ScenarioProgress> scenarios = createScenarioList(data);
+        List<ScenarioProgress> scenarios = createScenarioList(profile);
 
         if (scenarioAdapter == null) {
             scenarioAdapter = new ScenarioProgressAdapter(scenarios);
@@ -170,7 +169,9 @@ public class ProgressActivity extends AppCompatActivity {
                 "KOREAN: [the Korean translation here]\n" +
                 "Keep the quote under 30 words. Do not include author names or attribution.";
 
-        geminiService.sendMessage(prompt, new GeminiService.GeminiCallback() {
+        // 같은 프롬프트로 매번 새 문구가 필요하지 않으므로 캐시 사용 (형식이 맞는 응답만 저장)
+        geminiService.generateCachedText(prompt, GeminiResponseCache.PromptType.DAILY_QUOTE,
+                ProgressActivity::isValidQuote, new GeminiService.GeminiCallback() {
             @Override
             public void onSuccess(String response) {
                 runOnUiThread(() -> {
@@ -191,20 +192,10 @@ public class ProgressActivity extends AppCompatActivity {
      */
     private void parseAndDisplayQuote(String response, String today) {
         try {
-            String englishQuote = "";
-            String koreanQuote = "";
-
-            String[] lines = response.split("\n");
-            for (String line : lines) {
-                line = line.trim();
-                if (line.toUpperCase().startsWith("ENGLISH:")) {
-                    englishQuote = line.substring(8).trim();
-                } else if (line.toUpperCase().startsWith("KOREAN:")) {
-                    koreanQuote = line.substring(7).trim();
-                }
-            }
-
-            if (!englishQuote.isEmpty() && !koreanQuote.isEmpty()) {
+            String[] quote = parseQuote(response);
+            if (quote != null) {
+                String englishQuote = quote[0];
+                String koreanQuote = quote[1];
                 // 저장
                 quotePrefs.edit()
                         .putString(KEY_QUOTE_DATE, today)
@@ -223,6 +214,34 @@ public class ProgressActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * "ENGLISH: ... / KOREAN: ..." 형식의 응답에서 {영어, 한국어} 문구 추출, 형식이 맞지 않으면 null
+     */
+    private static String[] parseQuote(String response) {
+        String englishQuote = "";
+        String koreanQuote = "";
+
+        String[] lines = response.split("\n");
+        for (String line : lines) {
+            line = line.trim();
+            if (line.toUpperCase().startsWith("ENGLISH:")) {
+                englishQuote = line.substring(8).trim();
+            } else if (line.toUpperCase().startsWith("KOREAN:")) {
+                koreanQuote = line.substring(7).trim();
+            }
+        }
+
+        if (englishQuote.isEmpty() || koreanQuote.isEmpty()) {
+            return null;
+        }
+        return new String[]{englishQuote, koreanQuote};
+    }
+
+    // 형식이 맞는 응답만 캐시에 저장
+    private static boolean isValidQuote(String response) {
+        return response != null && parseQuote(response) != null;
+    }
+
     /**
      * 기본 동기부여 문구 (Gemini 사용 불가 시)
      */
@@ -245,11 +264,11 @@ public class ProgressActivity extends AppCompatActivity {
         tvQuoteKorean.setText(defaultQuotes[index][1]);
     }
 
-    private List<ScenarioProgress> createScenarioList(Map<String, Object> data) {
+    private List<ScenarioProgress> createScenarioList(UserProfile profile) {
         List<ScenarioProgress> scenarios = new ArrayList<>();
 
         // 레벨에 따라 추천 시나리오 생성
-        String level = (String) data.get("level");
+        String level = profile.getLevel();
         if (level == null) level = "Beginner";
 
         // 저장된 진도 데이터 가져오기
@@ -305,6 +324,7 @@ public class ProgressActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        UserDataManager.removeProfileListener(profileListener);
         if (geminiService != null) {
             geminiService.shutdown();
         }
@@ -11,7 +11,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.cookandroid.justspeakapp.adapter.ScenarioProgressAdapter;
 import com.cookandroid.justspeakapp.data.UserDataManager;
+import com.cookandroid.justspeakapp.data.UserProfile;
 import com.cookandroid.justspeakapp.model.ScenarioProgress;
+import com.cookandroid.justspeakapp.service.GreetingPrefetcher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +26,7 @@ public class ScenariosActivity extends AppCompatActivity {
     private RecyclerView rvScenarios;
     private UserDataManager userDataManager;
     private ScenarioProgressAdapter scenarioAdapter;
+    private GreetingPrefetcher greetingPrefetcher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,27 +52,16 @@ public class ScenariosActivity extends AppCompatActivity {
     }
 
     private void loadScenarios() {
-        userDataManager.getUserData(new UserDataManager.DataCallback() {
-            @Override
-            public void onSuccess(Map<String, Object> data) {
-                runOnUiThread(() -> {
-                    displayScenarios(data);
-                });
-            }
-
-            @Override
-            public void onError(String error) {
-                Log.e(TAG, "Error loading scenarios: " + error);
-                // Show default scenarios even if error
-                runOnUiThread(() -> {
-                    displayScenarios(null);
-                });
-            }
-        });
+        UserProfile profile = userDataManager.getProfile();
+        if (profile == null) {
+            Log.e(TAG, "Error loading scenarios: User not logged in");
+        }
+        // Show default scenarios even if error
+        displayScenarios(profile);
     }
 
-    private void displayScenarios(Map<String, Object> data) {
-        String level = data != null ? (String) data.get("level") : "Beginner";
+    private void displayScenarios(UserProfile profile) {
+        String level = profile != null ? profile.getLevel() : "Beginner";
         Map<String, Map<String, Integer>> savedProgress = userDataManager.getAllScenarioProgress();
 
         List<ScenarioProgress> scenarios = new ArrayList<>();
@@ -100,6 +92,8 @@ public class ScenariosActivity extends AppCompatActivity {
             addScenarioWithProgress(scenarios, savedProgress, "scenario_networking", "네트워킹", 7);
         }
 
+        prefetchLikelyGreetings(scenarios, savedProgress);
+
         if (scenarioAdapter == null) {
             scenarioAdapter = new ScenarioProgressAdapter(scenarios);
             scenarioAdapter.setOnScenarioClickListener(this::startScenarioConversation);
@@ -109,6 +103,23 @@ public class ScenariosActivity extends AppCompatActivity {
         }
     }
 
+    // 목록을 보는 동안 선택할 가능성이 높은 몇 개 시나리오의 인사말 음성만 미리 합성 (데이터와 TTS 사용량 절약)
+    private void prefetchLikelyGreetings(List<ScenarioProgress> scenarios,
+                                         Map<String, Map<String, Integer>> savedProgress) {
+        List<String> visibleIds = new ArrayList<>();
+        for (ScenarioProgress scenario : scenarios) {
+            visibleIds.add(scenario.getScenarioId());
+        }
+
+        if (greetingPrefetcher == null) {
+            greetingPrefetcher = new GreetingPrefetcher(this,
+                    userDataManager.getVoiceGender(), userDataManager.getVoiceSpeed());
+        }
+        greetingPrefetcher.prefetch(GreetingPrefetcher.rankScenarios(
+                userDataManager.getLastScenario(), savedProgress, visibleIds,
+                GreetingPrefetcher.DEFAULT_PREFETCH_COUNT));
+    }
+
     private void startScenarioConversation(com.cookandroid.justspeakapp.model.ScenarioProgress scenario) {
         Intent intent = new Intent(this, ConversationActivityWithAI.class);
         intent.putExtra("scenario_id", scenario.getScenarioId());
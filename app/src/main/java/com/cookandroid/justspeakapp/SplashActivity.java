@@ -1,25 +1,45 @@
 package com.cookandroid.justspeakapp;
 
+import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
 
+import com.cookandroid.justspeakapp.data.UserDataManager;
+import com.cookandroid.justspeakapp.model.Scenario;
+import com.cookandroid.justspeakapp.service.GeminiClient;
+import com.cookandroid.justspeakapp.service.HttpClientProvider;
+import com.cookandroid.justspeakapp.service.TextToSpeechService;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class SplashActivity extends AppCompatActivity {
-    private static final int SPLASH_DELAY = 2000; // 2초
+    private static final String TAG = "Splash";
+    private static final int WARM_UP_TIMEOUT_MS = 3000; // 준비가 늦어져도 최대 3초 후 이동
+    private static final int WARM_UP_TASK_COUNT = 4;    // TTS+인사말, TTS 서버 연결, Gemini, 사용자 데이터
+    private static final String TTS_WARM_UP_URL = "https://texttospeech.googleapis.com/";
+
     private SharedPreferences prefs;
     private Handler splashHandler;
     private Runnable splashRunnable;
 
+    // 스플래시 동안 첫 대화에 필요한 준비 작업 (완료되면 바로 메인으로 이동)
+    private final AtomicInteger pendingWarmUpTasks = new AtomicInteger();
+    private TextToSpeechService warmUpTts;
+    private UserDataManager userDataManager;
+    private long warmUpStartTime;
+    private boolean navigated = false;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -34,14 +54,12 @@ public class SplashActivity extends AppCompatActivity {
         Button btnGetStarted = findViewById(R.id.btn_get_started);
         Button btnLogin = findViewById(R.id.btn_login);
 
-        // 이미 로그인한 사용자는 바로 메인으로
+        // 이미 로그인한 사용자는 준비 작업을 마치는 대로 메인으로 (최대 WARM_UP_TIMEOUT_MS)
         if (isUserLoggedIn()) {
             splashHandler = new Handler(Looper.getMainLooper());
-            splashRunnable = () -> {
-                startActivity(new Intent(SplashActivity.this, MainActivity.class));
-                finish();
-            };
-            splashHandler.postDelayed(splashRunnable, SPLASH_DELAY);
+            splashRunnable = this::goToMain;
+            splashHandler.postDelayed(splashRunnable, WARM_UP_TIMEOUT_MS);
+            startWarmUp();
         }
 
         btnGetStarted.setOnClickListener(v -> {
@@ -55,6 +73,79 @@ public class SplashActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * 첫 대화의 콜드 스타트 비용을 스플래시 동안 병렬로 처리
+     * - TTS 엔진 초기화 + 가장 가능성 높은 시나리오의 인사말 음성 미리 합성
+     * - TTS 서버 연결 미리 열기 (공용 OkHttp 연결 풀에 유지)
+     *   (Gemini SDK는 자체 HTTP 클라이언트를 사용해 이 연결 풀을 재사용하지 않으므로 제외)
+     * - 공용 Gemini 클라이언트 생성
+     * - 사용자 데이터(SharedPreferences) 로드
+     */
+    private void startWarmUp() {
+        warmUpStartTime = System.currentTimeMillis();
+        pendingWarmUpTasks.set(WARM_UP_TASK_COUNT);
+        userDataManager = new UserDataManager(this);
+
+        // 1. TTS 초기화 → 음성 설정 적용 → 인사말 미리 합성
+        warmUpTts = new TextToSpeechService(this, success -> splashHandler.post(() -> {
+            if (!success || warmUpTts == null || navigated) {
+                onWarmUpTaskDone("tts");
+                return;
+            }
+            applyVoiceSettings();
+            String greeting = Scenario.getGreeting(getLikelyScenario());
+            warmUpTts.prefetch(greeting, () -> onWarmUpTaskDone("tts"));
+        }));
+
+        // 2. TTS 서버 연결 미리 열기
+        HttpClientProvider.warmUp(TTS_WARM_UP_URL, () -> onWarmUpTaskDone("connections"));
+
+        // 3. Gemini 모델 및 공용 스레드 풀 생성, 4. 사용자 데이터 로드
+        Context appContext = getApplicationContext();
+        new Thread(() -> {
+            GeminiClient.getInstance(appContext, BuildConfig.GEMINI_API_KEY);
+            onWarmUpTaskDone("gemini");
+        }, "warm-up-gemini").start();
+        new Thread(() -> {
+            userDataManager.getVoiceSettings();
+            userDataManager.getAllScenarioProgress();
+            onWarmUpTaskDone("user data");
+        }, "warm-up-user-data").start();
+    }
+
+    private void onWarmUpTaskDone(String task) {
+        Log.d(TAG, "Warm-up task done: " + task + " ("
+                + (System.currentTimeMillis() - warmUpStartTime) + "ms)");
+        if (pendingWarmUpTasks.decrementAndGet() == 0) {
+            splashHandler.post(this::goToMain);
+        }
+    }
+
+    // 마지막으로 시작한 시나리오, 없으면 일상 대화
+    private String getLikelyScenario() {
+        String lastScenario = userDataManager.getLastScenario();
+        return lastScenario != null ? lastScenario : "scenario_daily";
+    }
+
+    // 대화 화면과 같은 음성으로 합성해야 캐시가 그대로 사용됨
+    private void applyVoiceSettings() {
+        try {
+            warmUpTts.applySettings(userDataManager.getVoiceGender(), userDataManager.getVoiceSpeed());
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to apply voice settings", e);
+        }
+    }
+
+    private void goToMain() {
+        if (navigated || isFinishing()) {
+            return;
+        }
+        navigated = true;
+        Log.d(TAG, "Splash finished after " + (System.currentTimeMillis() - warmUpStartTime) + "ms");
+        startActivity(new Intent(SplashActivity.this, MainActivity.class));
+        finish();
+    }
+
     private boolean isUserLoggedIn() {
         // Firebase Auth 상태와 로컬 SharedPreferences 모두 확인
         FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
@@ -100,5 +191,10 @@ public class SplashActivity extends AppCompatActivity {
         if (splashHandler != null && splashRunnable != null) {
             splashHandler.removeCallbacks(splashRunnable);
         }
+        // 진행 중인 인사말 합성은 남은 작업을 마친 뒤 종료됨
+        if (warmUpTts != null) {
+            warmUpTts.shutdown();
+            warmUpTts = null;
+        }
     }
 }
@@ -0,0 +1,312 @@
+package com.cookandroid.justspeakapp.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * 사용자별 대화 로그 저장소 (사용자당 1개)
+ * SharedPreferences에 JSON 배열 전체를 다시 쓰는 대신, 파일 끝에 레코드를 하나씩 추가 (append-only)
+ * - 레코드 형식: [길이(int)][CRC32(int)][JSON 본문(UTF-8)]
+ * - 쓰기: 파일 끝에 추가만 하므로 기록 양과 관계없이 일정한 비용
+ * - 읽기: 레코드 위치 목록(오프셋)으로 필요한 페이지만 읽음
+ * - 보관: 레코드 수 제한 없이 전체 기록을 보관 (오래된 로그를 삭제하지 않음)
+ * 모든 파일 작업은 전용 단일 스레드에서 순서대로 실행
+ */
+public class ConversationLogStore {
+    private static final String TAG = "ConversationLogStore";
+    private static final String LOG_DIR_NAME = "conversation_logs";
+    private static final int HEADER_BYTES = 8;                 // 길이 + CRC32
+    private static final int MAX_RECORD_BYTES = 1024 * 1024;   // 손상된 길이 값 방어용
+
+    private static final Map<String, ConversationLogStore> instances = new HashMap<>();
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conversation-log-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File logFile;
+    private final Gson gson = new Gson();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 레코드 시작 위치 (파일 순서 = 오래된 순서), I/O 스레드에서만 접근
+    private List<Long> offsets;
+    private long fileLength = 0;
+    private boolean legacyImportStarted = false; // 같은 세션에서 여러 번 가져오지 않도록
+
+    /**
+     * 대화 로그 1건
+     */
+    public static class LogEntry {
+        public final String scenario;
+        public final String conversationData;
+        public final long timestamp;
+
+        public LogEntry(String scenario, String conversationData, long timestamp) {
+            this.scenario = scenario;
+            this.conversationData = conversationData;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public interface PageCallback {
+        /**
+         * entries: 최신순, hasMore: 다음 페이지가 있으면 true (UI 스레드에서 호출)
+         */
+        void onPage(List<LogEntry> entries, boolean hasMore);
+    }
+
+    public static ConversationLogStore getInstance(Context context, String userId) {
+        synchronized (instances) {
+            ConversationLogStore store = instances.get(userId);
+            if (store == null) {
+                store = new ConversationLogStore(context.getApplicationContext(), userId);
+                instances.put(userId, store);
+            }
+            return store;
+        }
+    }
+
+    private ConversationLogStore(Context appContext, String userId) {
+        File dir = new File(appContext.getFilesDir(), LOG_DIR_NAME);
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Failed to create log directory");
+        }
+        this.logFile = new File(dir, userId + ".log");
+    }
+
+    /**
+     * 로그 추가 (백그라운드에서 파일 끝에 기록)
+     */
+    public void append(String scenario, String conversationData, long timestamp) {
+        byte[] payload = encode(new LogEntry(scenario, conversationData, timestamp));
+        ioExecutor.execute(() -> {
+            try {
+                ensureIndex();
+                writeRecords(Collections.singletonList(payload));
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to append conversation log", e);
+                offsets = null; // 다음 사용 시 파일을 다시 읽어 위치 목록 복구
+            }
+        });
+    }
+
+    /**
+     * 최신순으로 page번째 페이지 읽기 (0부터), callback은 UI 스레드에서 호출
+     */
+    public void readPage(int page, int pageSize, PageCallback callback) {
+        ioExecutor.execute(() -> {
+            List<LogEntry> entries = new ArrayList<>();
+            boolean hasMore = false;
+            try {
+                ensureIndex();
+                int end = offsets.size() - page * pageSize;     // 이 페이지의 가장 최신 레코드 다음 위치
+                int start = Math.max(0, end - pageSize);
+                if (end > 0) {
+                    try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+                        for (int i = end - 1; i >= start; i--) {
+                            LogEntry entry = readEntry(file, offsets.get(i));
+                            if (entry != null) entries.add(entry);
+                        }
+                    }
+                }
+                hasMore = start > 0;
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to read conversation logs", e);
+            }
+
+            boolean more = hasMore;
+            mainHandler.post(() -> callback.onPage(entries, more));
+        });
+    }
+
+    /**
+     * 기존 SharedPreferences의 JSON 배열 로그를 가져옴 (한 번만, 이후 추가되는 로그보다 먼저 기록됨)
+     * 파일에 모두 기록한 뒤에만 legacyKey 항목을 삭제 (실패하면 일부 기록을 되돌리고 항목은 남겨 다음 실행 시 다시 시도)
+     */
+    synchronized void importLegacyJson(SharedPreferences prefs, String legacyKey) {
+        if (legacyImportStarted) {
+            return;
+        }
+        legacyImportStarted = true;
+
+        ioExecutor.execute(() -> {
+            long lengthBefore = -1;
+            try {
+                Type listType = new TypeToken<List<Map<String, Object>>>(){}.getType();
+                List<Map<String, Object>> logs = gson.fromJson(prefs.getString(legacyKey, "[]"), listType);
+
+                List<byte[]> payloads = new ArrayList<>();
+                if (logs != null) {
+                    for (Map<String, Object> log : logs) {
+                        Object timestamp = log.get("timestamp");
+                        payloads.add(encode(new LogEntry(
+                                (String) log.get("scenario"),
+                                (String) log.get("conversation_data"),
+                                timestamp instanceof Number ? ((Number) timestamp).longValue() : 0)));
+                    }
+                }
+                ensureIndex();
+                lengthBefore = fileLength;
+                writeRecords(payloads);
+                Log.d(TAG, "Imported " + payloads.size() + " legacy conversation logs");
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to import legacy conversation logs", e);
+                rollbackTo(lengthBefore);
+                return;
+            }
+
+            prefs.edit().remove(legacyKey).apply();
+        });
+    }
+
+    /**
+     * 모든 로그 삭제 (계정 탈퇴 시)
+     */
+    public void deleteAll() {
+        ioExecutor.execute(() -> {
+            if (logFile.exists() && !logFile.delete()) {
+                Log.w(TAG, "Failed to delete conversation log file");
+            }
+            offsets = new ArrayList<>();
+            fileLength = 0;
+        });
+    }
+
+    // ===== I/O 스레드 전용 =====
+
+    // 처음 사용할 때 헤더만 따라가며 레코드 위치 목록 생성 (본문은 읽지 않음)
+    // 쓰다가 중단된 마지막 레코드가 있으면 잘라냄
+    private void ensureIndex() throws IOException {
+        if (offsets != null) {
+            return;
+        }
+        offsets = new ArrayList<>();
+        fileLength = 0;
+        if (!logFile.exists()) {
+            return;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+            fileLength = indexRecords(file, offsets);
+        }
+        Log.d(TAG, "Indexed " + offsets.size() + " conversation logs (" + fileLength + " bytes)");
+    }
+
+    // 헤더를 따라가며 레코드 시작 위치를 offsets에 추가하고, 완전한 레코드까지의 길이 반환
+    // 길이가 맞지 않는 마지막 레코드(쓰다가 중단된 레코드)는 파일에서 잘라냄
+    static long indexRecords(RandomAccessFile file, List<Long> offsets) throws IOException {
+        long length = file.length();
+        long position = 0;
+        while (position + HEADER_BYTES <= length) {
+            file.seek(position);
+            int size = file.readInt();
+            if (size < 0 || size > MAX_RECORD_BYTES || position + HEADER_BYTES + size > length) {
+                break;
+            }
+            offsets.add(position);
+            position += HEADER_BYTES + size;
+        }
+        if (position < length) {
+            Log.w(TAG, "Truncating incomplete record at " + position);
+            file.setLength(position);
+        }
+        return position;
+    }
+
+    // 중간에 실패한 가져오기 기록을 잘라내 다시 시도해도 중복되지 않도록 함 (length가 -1이면 쓰기 전 실패)
+    private void rollbackTo(long length) {
+        if (length >= 0) {
+            try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+                file.setLength(length);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to roll back partial import", e);
+            }
+        }
+        offsets = null; // 다음 사용 시 파일을 다시 읽어 위치 목록 복구
+    }
+
+    // 로그 파일 끝에 레코드들을 추가하고 위치 목록 갱신
+    private void writeRecords(List<byte[]> payloads) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(logFile, true)))) {
+            for (byte[] payload : payloads) {
+                writeRecord(out, payload);
+                offsets.add(fileLength);
+                fileLength += HEADER_BYTES + payload.length;
+            }
+        }
+    }
+
+    // 레코드 1개 기록: [길이(int)][CRC32(int)][본문]
+    static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    // offset 위치의 레코드 본문, CRC가 맞지 않으면 null
+    static byte[] readRecord(RandomAccessFile file, long offset) throws IOException {
+        file.seek(offset);
+        int size = file.readInt();
+        int expectedCrc = file.readInt();
+        byte[] payload = new byte[size];
+        file.readFully(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            Log.w(TAG, "Skipping corrupted record at " + offset);
+            return null;
+        }
+        return payload;
+    }
+
+    private LogEntry readEntry(RandomAccessFile file, long offset) throws IOException {
+        byte[] payload = readRecord(file, offset);
+        return payload != null ? decode(payload) : null;
+    }
+
+    private byte[] encode(LogEntry entry) {
+        JsonObject json = new JsonObject();
+        json.addProperty("scenario", entry.scenario);
+        json.addProperty("conversation_data", entry.conversationData);
+        json.addProperty("timestamp", entry.timestamp);
+        return gson.toJson(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private LogEntry decode(byte[] payload) {
+        JsonObject json = gson.fromJson(new String(payload, StandardCharsets.UTF_8), JsonObject.class);
+        return new LogEntry(
+                json.has("scenario") && !json.get("scenario").isJsonNull() ? json.get("scenario").getAsString() : null,
+                json.has("conversation_data") && !json.get("conversation_data").isJsonNull()
+                        ? json.get("conversation_data").getAsString() : null,
+                json.has("timestamp") ? json.get("timestamp").getAsLong() : 0);
+    }
+}
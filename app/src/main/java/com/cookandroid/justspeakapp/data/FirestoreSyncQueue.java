@@ -0,0 +1,634 @@
+package com.cookandroid.justspeakapp.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Firestore 지연 쓰기 큐 + 오프라인 전송함 (프로세스당 1개)
+ * 저장할 때마다 바로 Firestore에 쓰지 않고, 짧은 시간(FLUSH_WINDOW_MS) 동안 같은 문서에 대한 필드 변경을 모아
+ * 하나의 WriteBatch로 한 번에 커밋 (레슨 하나를 끝낼 때 여러 번 왕복하던 것을 1번으로)
+ * - 같은 문서의 변경은 필드 단위로 합침 (나중 값 우선, SetOptions.merge와 같은 결과), 문서별 변경 순서 유지
+ * - 대기 중인 쓰기는 파일에도 저장하여 앱이 종료되어도 다음 실행 시 이어서 전송
+ * - 새 문서는 ID를 미리 정해두므로(멱등성 키) 같은 쓰기를 여러 번 보내도 문서가 중복 생성되지 않음
+ * - 커밋에 실패하면 이후 변경보다 앞에 다시 넣고 지수 백오프로 재시도
+ * - 오프라인이면 전송하지 않고 모아두었다가, 네트워크가 연결되면 한 번에 전송
+ * 클라우드 동기화에 실패해도 쓰기를 버리지 않으므로, 오프라인으로 사용한 기기도 나중에 클라우드와 맞춰짐
+ */
+public class FirestoreSyncQueue {
+    private static final String TAG = "FirestoreSyncQueue";
+    private static final String QUEUE_FILE_NAME = "firestore_sync_queue.json";
+    private static final long FLUSH_WINDOW_MS = 2000;      // 변경을 모으는 시간
+    private static final long BASE_RETRY_DELAY_MS = 2000;          // 첫 재시도 간격 (실패할 때마다 2배)
+    private static final long MAX_RETRY_DELAY_MS = 5 * 60 * 1000;  // 최대 재시도 간격
+    private static final int MAX_BATCH_WRITES = 500;       // Firestore WriteBatch 최대 쓰기 수
+
+    private static volatile FirestoreSyncQueue instance;
+
+    private final FirebaseFirestore firestore;
+    private final File queueFile;
+    private final Gson gson = new Gson();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "firestore-sync-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean persistScheduled = new AtomicBoolean(false);
+    private final ConnectivityManager connectivityManager;
+    private final Random random = new Random();
+
+    // 문서 경로 → 대기 중인 쓰기 (들어온 순서)
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+    // 커밋 중인 쓰기 (실패하면 pending 앞으로 되돌림)
+    private final List<PendingWrite> inFlight = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    // 재시도 상태
+    private int consecutiveFailures = 0;
+    private long nextAttemptAt = 0;          // 이 시각(elapsedRealtime) 전에는 전송하지 않음 (백오프)
+    private boolean isolateWrites = false;   // 영구 오류가 난 배치를 쓰기 1개씩 나눠 원인 문서만 걸러냄
+    private volatile boolean online = true;
+
+    // 성능 측정
+    private long lastFlushLatencyMs = -1;
+    private long totalFlushLatencyMs = 0;
+    private int flushCount = 0;
+    private int failedFlushCount = 0;
+    private int coalescedWriteCount = 0;
+    private int droppedWriteCount = 0;
+
+    private final Runnable flushRunnable = this::flush;
+
+    // 문서 하나에 대해 모인 필드 변경
+    static class PendingWrite {
+        final String path;
+        final LinkedHashMap<String, Object> fields;
+        final long queuedAt;
+        boolean cancelled; // 커밋 중에 clearUser로 취소됨 (실패해도 다시 보내지 않음)
+
+        PendingWrite(String path, Map<String, Object> fields, long queuedAt) {
+            this.path = path;
+            this.fields = new LinkedHashMap<>(fields);
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    public static FirestoreSyncQueue getInstance(Context context) {
+        FirestoreSyncQueue queue = instance;
+        if (queue == null) {
+            synchronized (FirestoreSyncQueue.class) {
+                queue = instance;
+                if (queue == null) {
+                    queue = new FirestoreSyncQueue(context.getApplicationContext());
+                    instance = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    private FirestoreSyncQueue(Context appContext) {
+        this.firestore = FirebaseFirestore.getInstance();
+        this.queueFile = new File(appContext.getFilesDir(), QUEUE_FILE_NAME);
+        this.connectivityManager = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+        registerNetworkCallback();
+        load();
+        if (!pending.isEmpty()) {
+            Log.d(TAG, "Resuming " + pending.size() + " pending writes from previous session");
+            scheduleFlush(FLUSH_WINDOW_MS);
+        }
+    }
+
+    /**
+     * 문서 필드 변경 예약 (set + SetOptions.merge와 같은 결과)
+     * documentPath 예: "users/{uid}", "users/{uid}/progress/{scenario}"
+     * 필드 값은 파일에 저장했다가 그대로 복원할 수 있는 타입만 허용
+     * (null, String, Boolean, 정수/실수, 그리고 이 타입들로 이루어진 List/Map)
+     * FieldValue, Timestamp, Date, GeoPoint, DocumentReference 등은 IllegalArgumentException
+     */
+    public void set(String documentPath, Map<String, Object> fields) {
+        checkSupportedValues(fields);
+        synchronized (this) {
+            if (coalesce(pending, documentPath, fields, System.currentTimeMillis())) {
+                coalescedWriteCount++;
+            }
+            scheduleFlush(FLUSH_WINDOW_MS);
+        }
+        schedulePersist();
+    }
+
+    // 프로세스가 종료된 뒤 복원했을 때 다른 값으로 바뀌지 않도록 큐에 넣기 전에 검사
+    static void checkSupportedValues(Map<String, Object> fields) {
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            checkSupportedValue(field.getKey(), field.getValue());
+        }
+    }
+
+    private static void checkSupportedValue(String name, Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Double || value instanceof Float) {
+            return;
+        }
+        if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                checkSupportedValue(name, item);
+            }
+            return;
+        }
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!(entry.getKey() instanceof String)) {
+                    throw new IllegalArgumentException("Map keys must be strings in field: " + name);
+                }
+                checkSupportedValue(name + "." + entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        throw new IllegalArgumentException("Unsupported value type for sync queue field "
+                + name + ": " + value.getClass().getName());
+    }
+
+    // 같은 문서의 대기 중인 쓰기가 있으면 필드를 합치고(나중 값 우선) true, 없으면 새로 추가하고 false
+    static boolean coalesce(Map<String, PendingWrite> pending, String documentPath,
+                            Map<String, Object> fields, long now) {
+        PendingWrite write = pending.get(documentPath);
+        if (write != null) {
+            write.fields.putAll(fields);
+            return true;
+        }
+        pending.put(documentPath, new PendingWrite(documentPath, fields, now));
+        return false;
+    }
+
+    /**
+     * 컬렉션에 새 문서 추가 예약 (add와 같지만 문서 ID를 미리 정해 재시도해도 한 번만 생성됨)
+     * 생성될 문서 ID(멱등성 키) 반환
+     */
+    public String add(String collectionPath, Map<String, Object> fields) {
+        String documentId = firestore.collection(collectionPath).document().getId();
+        set(collectionPath + "/" + documentId, fields);
+        return documentId;
+    }
+
+    /**
+     * 특정 사용자 문서(하위 컬렉션 포함)에 대한 대기 중인 쓰기 삭제 (계정 탈퇴 시)
+     * 이미 커밋 중인 쓰기는 취소 표시만 하고, 커밋이 실패해도 다시 보내거나 저장하지 않음
+     * (Firestore는 같은 클라이언트의 쓰기를 순서대로 적용하므로 이후의 삭제 요청이 커밋된 쓰기보다 나중에 적용됨)
+     */
+    public void clearUser(String userId) {
+        String userPath = "users/" + userId;
+        synchronized (this) {
+            Iterator<String> iterator = pending.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (isUserPath(iterator.next(), userPath)) {
+                    iterator.remove();
+                }
+            }
+            for (PendingWrite write : inFlight) {
+                if (isUserPath(write.path, userPath)) {
+                    write.cancelled = true;
+                }
+            }
+        }
+        schedulePersist();
+    }
+
+    private static boolean isUserPath(String path, String userPath) {
+        return path.equals(userPath) || path.startsWith(userPath + "/");
+    }
+
+    /**
+     * 모으는 시간을 기다리지 않고 바로 전송 (재시도 대기 중이면 대기 시간이 끝난 뒤)
+     */
+    public void flushNow() {
+        synchronized (this) {
+            scheduleFlush(0);
+        }
+    }
+
+    // synchronized 안에서 호출, 백오프 대기 시간보다 빨리 전송하지 않음
+    private void scheduleFlush(long delayMs) {
+        long backoffMs = nextAttemptAt - SystemClock.elapsedRealtime();
+        delayMs = Math.max(delayMs, backoffMs);
+        if (flushScheduled && delayMs > 0) {
+            return;
+        }
+        mainHandler.removeCallbacks(flushRunnable);
+        mainHandler.postDelayed(flushRunnable, Math.max(0, delayMs));
+        flushScheduled = true;
+    }
+
+    // 네트워크가 다시 연결되면 백오프를 초기화하고 모아둔 쓰기를 한 번에 전송
+    private void registerNetworkCallback() {
+        if (connectivityManager == null) {
+            return;
+        }
+        online = isNetworkAvailable();
+        try {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    online = true;
+                    synchronized (FirestoreSyncQueue.this) {
+                        if (pending.isEmpty()) {
+                            return;
+                        }
+                        Log.d(TAG, "Network available, draining " + pending.size() + " pending writes");
+                        consecutiveFailures = 0;
+                        nextAttemptAt = 0;
+                        scheduleFlush(0);
+                    }
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    online = isNetworkAvailable();
+                }
+            });
+        } catch (Exception e) {
+            // 네트워크 콜백 등록 실패 시에는 연결 확인 없이 백오프 재시도만 사용
+            Log.w(TAG, "Failed to register network callback", e);
+        }
+    }
+
+    private boolean isNetworkAvailable() {
+        Network network = connectivityManager.getActiveNetwork();
+        NetworkCapabilities capabilities = network != null ? connectivityManager.getNetworkCapabilities(network) : null;
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+
+    private void flush() {
+        WriteBatch batch;
+        int writeCount;
+        long startTime;
+        synchronized (this) {
+            flushScheduled = false;
+            if (!inFlight.isEmpty() || pending.isEmpty()) {
+                return; // 커밋 중이면 완료 후 이어서 전송
+            }
+            if (!online) {
+                Log.d(TAG, "Offline, keeping " + pending.size() + " writes until network is available");
+                return; // 네트워크 콜백에서 이어서 전송
+            }
+            if (SystemClock.elapsedRealtime() < nextAttemptAt) {
+                scheduleFlush(0); // 백오프 전에 예약되어 있던 전송은 대기 시간이 끝난 뒤로 미룸
+                return;
+            }
+
+            int batchLimit = isolateWrites ? 1 : MAX_BATCH_WRITES;
+            batch = firestore.batch();
+            Iterator<PendingWrite> iterator = pending.values().iterator();
+            while (iterator.hasNext() && inFlight.size() < batchLimit) {
+                PendingWrite write = iterator.next();
+                batch.set(firestore.document(write.path), write.fields, SetOptions.merge());
+                inFlight.add(write);
+                iterator.remove();
+            }
+            writeCount = inFlight.size();
+            startTime = SystemClock.elapsedRealtime();
+        }
+
+        batch.commit()
+                .addOnSuccessListener(aVoid -> {
+                    long latency = SystemClock.elapsedRealtime() - startTime;
+                    synchronized (this) {
+                        dropCancelledInFlight();
+                        inFlight.clear();
+                        lastFlushLatencyMs = latency;
+                        totalFlushLatencyMs += latency;
+                        flushCount++;
+                        consecutiveFailures = 0;
+                        nextAttemptAt = 0;
+                        if (pending.isEmpty()) {
+                            isolateWrites = false;
+                        } else {
+                            // 배치가 가득 찼거나 문제 문서를 걸러내는 중이면 남은 쓰기를 바로 이어서 전송
+                            scheduleFlush(isolateWrites || writeCount >= MAX_BATCH_WRITES ? 0 : FLUSH_WINDOW_MS);
+                        }
+                    }
+                    schedulePersist();
+                    Log.d(TAG, "Committed " + writeCount + " writes in " + latency + "ms");
+                })
+                .addOnFailureListener(e -> {
+                    synchronized (this) {
+                        failedFlushCount++;
+                        dropCancelledInFlight();
+                        if (isPermanentFailure(e)) {
+                            handlePermanentFailure(e);
+                        } else {
+                            restoreInFlight();
+                            long delayMs = nextRetryDelayMs();
+                            nextAttemptAt = SystemClock.elapsedRealtime() + delayMs;
+                            scheduleFlush(delayMs);
+                            Log.w(TAG, "Failed to commit " + writeCount + " writes, retrying in " + delayMs + "ms", e);
+                        }
+                    }
+                    schedulePersist();
+                });
+    }
+
+    // 커밋 중에 취소된 쓰기를 버림 (실패 시 대기열로 되돌리지 않도록), synchronized 안에서 호출
+    private void dropCancelledInFlight() {
+        Iterator<PendingWrite> iterator = inFlight.iterator();
+        while (iterator.hasNext()) {
+            PendingWrite write = iterator.next();
+            if (write.cancelled) {
+                Log.d(TAG, "Dropping cancelled write to " + write.path);
+                iterator.remove();
+            }
+        }
+    }
+
+    // 재시도해도 성공할 수 없는 오류 (권한, 잘못된 데이터 등)
+    private static boolean isPermanentFailure(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        switch (((FirebaseFirestoreException) e).getCode()) {
+            case INVALID_ARGUMENT:
+            case PERMISSION_DENIED:
+            case FAILED_PRECONDITION:
+            case OUT_OF_RANGE:
+            case UNIMPLEMENTED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // 여러 쓰기가 묶인 배치면 1개씩 다시 보내 원인 문서를 찾고, 1개짜리 배치면 그 쓰기만 버림
+    // synchronized 안에서 호출
+    private void handlePermanentFailure(Exception e) {
+        if (inFlight.size() > 1) {
+            Log.w(TAG, "Permanent failure in batch of " + inFlight.size() + ", retrying writes one by one", e);
+            restoreInFlight();
+            isolateWrites = true;
+        } else {
+            for (PendingWrite write : inFlight) {
+                Log.e(TAG, "Dropping write to " + write.path + " after permanent failure", e);
+                droppedWriteCount++;
+            }
+            inFlight.clear();
+        }
+        if (!pending.isEmpty()) {
+            scheduleFlush(0);
+        } else {
+            isolateWrites = false;
+        }
+    }
+
+    // 2초, 4초, 8초 ... 최대 5분 (+ 최대 20% 무작위 지연으로 여러 기기가 동시에 재시도하지 않도록)
+    // synchronized 안에서 호출
+    private long nextRetryDelayMs() {
+        consecutiveFailures++;
+        long delayMs = BASE_RETRY_DELAY_MS << Math.min(consecutiveFailures - 1, 16);
+        delayMs = Math.min(delayMs, MAX_RETRY_DELAY_MS);
+        return delayMs + (long) (delayMs * 0.2 * random.nextDouble());
+    }
+
+    // 실패한 쓰기를 이후 변경보다 앞에 되돌림 (같은 문서면 이후 변경 값 우선), synchronized 안에서 호출
+    private void restoreInFlight() {
+        LinkedHashMap<String, PendingWrite> restored = mergeRestored(inFlight, pending);
+        inFlight.clear();
+        pending.clear();
+        pending.putAll(restored);
+    }
+
+    // 실패한 쓰기(inFlight) 뒤에 대기 중인 쓰기를 이어 붙인 새 순서 (같은 문서면 하나로 합침)
+    static LinkedHashMap<String, PendingWrite> mergeRestored(List<PendingWrite> inFlight,
+                                                             Map<String, PendingWrite> pending) {
+        LinkedHashMap<String, PendingWrite> restored = new LinkedHashMap<>();
+        for (PendingWrite write : inFlight) {
+            restored.put(write.path, write);
+        }
+        for (PendingWrite newer : pending.values()) {
+            PendingWrite older = restored.get(newer.path);
+            if (older != null) {
+                older.fields.putAll(newer.fields);
+            } else {
+                restored.put(newer.path, newer);
+            }
+        }
+        return restored;
+    }
+
+    // ===== 성능 측정 =====
+
+    /**
+     * 전송 대기 + 커밋 중인 문서 수
+     */
+    public synchronized int getQueueDepth() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * 마지막 배치 커밋 소요 시간 (ms), 아직 없으면 -1
+     */
+    public synchronized long getLastFlushLatencyMs() {
+        return lastFlushLatencyMs;
+    }
+
+    public synchronized long getAverageFlushLatencyMs() {
+        return flushCount > 0 ? totalFlushLatencyMs / flushCount : -1;
+    }
+
+    /**
+     * 가장 오래 기다린 쓰기의 대기 시간 (ms), 대기 중인 쓰기가 없으면 0
+     */
+    public synchronized long getOldestPendingAgeMs() {
+        long oldest = Long.MAX_VALUE;
+        for (PendingWrite write : inFlight) oldest = Math.min(oldest, write.queuedAt);
+        for (PendingWrite write : pending.values()) oldest = Math.min(oldest, write.queuedAt);
+        return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    public synchronized String getStats() {
+        return "depth=" + getQueueDepth() + ", online=" + online + ", flushes=" + flushCount
+                + ", failed=" + failedFlushCount + ", retries=" + consecutiveFailures + ", dropped=" + droppedWriteCount
+                + ", coalesced=" + coalescedWriteCount + ", lastLatency=" + lastFlushLatencyMs + "ms"
+                + ", avgLatency=" + getAverageFlushLatencyMs() + "ms, oldestPending=" + getOldestPendingAgeMs() + "ms";
+    }
+
+    // ===== 파일 저장 =====
+
+    // 짧은 시간에 여러 번 변경되어도 파일 쓰기는 한 번만 예약 (쓰는 시점의 최신 상태를 기록)
+    private void schedulePersist() {
+        if (!persistScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            persistScheduled.set(false);
+            JsonObject root;
+            synchronized (this) {
+                root = encodeQueue();
+            }
+            try {
+                writeFile(root);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to persist sync queue", e);
+            }
+        });
+    }
+
+    // 커밋 중인 쓰기도 완료 전까지는 함께 저장 (앞쪽이 먼저 들어온 변경)
+    private JsonObject encodeQueue() {
+        JsonArray writes = new JsonArray();
+        for (PendingWrite write : inFlight) {
+            if (!write.cancelled) writes.add(encodeWrite(write));
+        }
+        for (PendingWrite write : pending.values()) writes.add(encodeWrite(write));
+        JsonObject root = new JsonObject();
+        root.add("writes", writes);
+        return root;
+    }
+
+    private JsonObject encodeWrite(PendingWrite write) {
+        JsonObject fields = new JsonObject();
+        for (Map.Entry<String, Object> field : write.fields.entrySet()) {
+            fields.add(field.getKey(), encodeValue(field.getValue()));
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("path", write.path);
+        json.addProperty("queued_at", write.queuedAt);
+        json.add("fields", fields);
+        return json;
+    }
+
+    private void writeFile(JsonObject root) throws IOException {
+        File tempFile = new File(queueFile.getParentFile(), queueFile.getName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            gson.toJson(root, writer);
+        }
+        if (!tempFile.renameTo(queueFile)) {
+            tempFile.delete();
+            throw new IOException("Failed to replace sync queue file");
+        }
+    }
+
+    private void load() {
+        if (!queueFile.exists()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(queueFile), StandardCharsets.UTF_8)) {
+            JsonObject root = gson.fromJson(reader, JsonObject.class);
+            if (root == null || !root.has("writes")) {
+                return;
+            }
+            for (JsonElement element : root.getAsJsonArray("writes")) {
+                JsonObject json = element.getAsJsonObject();
+                String path = json.get("path").getAsString();
+                Map<String, Object> fields = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> field : json.getAsJsonObject("fields").entrySet()) {
+                    fields.put(field.getKey(), decodeValue(field.getValue().getAsJsonObject()));
+                }
+
+                PendingWrite existing = pending.get(path);
+                if (existing != null) {
+                    existing.fields.putAll(fields);
+                } else {
+                    pending.put(path, new PendingWrite(path, fields, json.get("queued_at").getAsLong()));
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to load sync queue, discarding", e);
+            pending.clear();
+        }
+    }
+
+    // Firestore 값 타입을 유지하도록 타입 표시와 함께 저장 (JSON 숫자는 읽을 때 모두 double이 되므로)
+    private static JsonObject encodeValue(Object value) {
+        JsonObject json = new JsonObject();
+        if (value == null) {
+            json.addProperty("t", "null");
+            json.add("v", JsonNull.INSTANCE);
+        } else if (value instanceof String) {
+            json.addProperty("t", "s");
+            json.addProperty("v", (String) value);
+        } else if (value instanceof Boolean) {
+            json.addProperty("t", "b");
+            json.addProperty("v", (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            json.addProperty("t", "l");
+            json.addProperty("v", ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            json.addProperty("t", "d");
+            json.addProperty("v", ((Number) value).doubleValue());
+        } else if (value instanceof Collection) {
+            JsonArray array = new JsonArray();
+            for (Object item : (Collection<?>) value) array.add(encodeValue(item));
+            json.addProperty("t", "a");
+            json.add("v", array);
+        } else if (value instanceof Map) {
+            JsonObject map = new JsonObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.add(String.valueOf(entry.getKey()), encodeValue(entry.getValue()));
+            }
+            json.addProperty("t", "m");
+            json.add("v", map);
+        } else {
+            // set()에서 미리 검사하므로 도달하지 않음 - 문자열로 바꿔 저장하면 복원 후 잘못된 값이 기록되므로 거부
+            throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+        }
+        return json;
+    }
+
+    private static Object decodeValue(JsonObject json) {
+        JsonElement value = json.get("v");
+        switch (json.get("t").getAsString()) {
+            case "s": return value.getAsString();
+            case "b": return value.getAsBoolean();
+            case "l": return value.getAsLong();
+            case "d": return value.getAsDouble();
+            case "a": {
+                List<Object> list = new ArrayList<>();
+                for (JsonElement item : value.getAsJsonArray()) list.add(decodeValue(item.getAsJsonObject()));
+                return list;
+            }
+            case "m": {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                    map.put(entry.getKey(), decodeValue(entry.getValue().getAsJsonObject()));
+                }
+                return map;
+            }
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.cookandroid.justspeakapp.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사용자별 시나리오 학습 진도 저장소 (사용자당 1개)
+ * SharedPreferences 전체를 훑으며 시나리오마다 JSON을 파싱하는 대신,
+ * 시나리오 ID를 키로 한 작은 바이너리 파일 하나에 모든 진도를 저장
+ * - 파일 형식: [버전(int)][개수(int)] + 개수 × [시나리오 ID(UTF)][완료(int)][전체(int)][마지막 업데이트(long)]
+ * - 읽기: 처음 한 번 파일 전체를 읽어 메모리에 보관 (최대 MAX_SCENARIOS개), 이후에는 메모리에서 바로 반환
+ * - 쓰기: 메모리를 먼저 갱신하고, 파일은 백그라운드에서 임시 파일에 쓴 뒤 교체
+ */
+public class ScenarioProgressStore {
+    private static final String TAG = "ScenarioProgressStore";
+    private static final String PROGRESS_DIR_NAME = "scenario_progress";
+    private static final String LEGACY_KEY_PREFIX = "progress_";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_SCENARIOS = 256; // 손상된 개수 값 방어용
+
+    private static final Map<String, ScenarioProgressStore> instances = new HashMap<>();
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scenario-progress-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File progressFile;
+
+    // 시나리오 ID → 진도 (저장 순서 유지)
+    private final Map<String, Progress> progressMap = new LinkedHashMap<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+
+    /**
+     * 시나리오 1개의 진도
+     */
+    public static class Progress {
+        public final int completed;
+        public final int total;
+        public final long lastUpdated;
+
+        public Progress(int completed, int total, long lastUpdated) {
+            this.completed = completed;
+            this.total = total;
+            this.lastUpdated = lastUpdated;
+        }
+    }
+
+    /**
+     * 사용자 저장소 가져오기 (처음 호출 시 파일을 읽고, 파일이 없으면 기존 SharedPreferences 진도를 옮겨옴)
+     */
+    static ScenarioProgressStore getInstance(Context context, SharedPreferences prefs, String userId) {
+        synchronized (instances) {
+            ScenarioProgressStore store = instances.get(userId);
+            if (store == null) {
+                store = new ScenarioProgressStore(context.getApplicationContext(), prefs, userId);
+                instances.put(userId, store);
+            }
+            return store;
+        }
+    }
+
+    private ScenarioProgressStore(Context appContext, SharedPreferences prefs, String userId) {
+        File dir = new File(appContext.getFilesDir(), PROGRESS_DIR_NAME);
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Failed to create progress directory");
+        }
+        this.progressFile = new File(dir, userId + ".bin");
+
+        if (progressFile.exists()) {
+            load();
+        } else {
+            importLegacyPrefs(prefs, userId);
+        }
+    }
+
+    public synchronized Progress get(String scenarioId) {
+        return progressMap.get(scenarioId);
+    }
+
+    /**
+     * 모든 시나리오의 진도 (복사본)
+     */
+    public synchronized Map<String, Progress> getAll() {
+        return new LinkedHashMap<>(progressMap);
+    }
+
+    public void put(String scenarioId, int completed, int total, long lastUpdated) {
+        synchronized (this) {
+            progressMap.put(scenarioId, new Progress(completed, total, lastUpdated));
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * 모든 진도 삭제 (계정 탈퇴 시)
+     */
+    public void deleteAll() {
+        synchronized (this) {
+            progressMap.clear();
+        }
+        ioExecutor.execute(() -> {
+            if (progressFile.exists() && !progressFile.delete()) {
+                Log.w(TAG, "Failed to delete progress file");
+            }
+        });
+    }
+
+    // 짧은 시간에 여러 번 저장해도 파일 쓰기는 한 번만 예약 (쓰는 시점의 최신 상태를 기록)
+    private void scheduleWrite() {
+        if (!writeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            writeScheduled.set(false);
+            try {
+                writeFile(getAll());
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to write scenario progress", e);
+            }
+        });
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(progressFile)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                Log.w(TAG, "Unknown progress file version: " + version);
+                return;
+            }
+            int count = in.readInt();
+            if (count < 0 || count > MAX_SCENARIOS) {
+                Log.w(TAG, "Invalid progress record count: " + count);
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                String scenarioId = in.readUTF();
+                progressMap.put(scenarioId, new Progress(in.readInt(), in.readInt(), in.readLong()));
+            }
+            Log.d(TAG, "Loaded progress for " + progressMap.size() + " scenarios");
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read scenario progress", e);
+        }
+    }
+
+    private void writeFile(Map<String, Progress> snapshot) throws IOException {
+        File tempFile = new File(progressFile.getParentFile(), progressFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Progress> entry : snapshot.entrySet()) {
+                Progress progress = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(progress.completed);
+                out.writeInt(progress.total);
+                out.writeLong(progress.lastUpdated);
+            }
+        }
+        if (!tempFile.renameTo(progressFile)) {
+            tempFile.delete();
+            throw new IOException("Failed to replace progress file");
+        }
+    }
+
+    // 기존 "<uid>_progress_<시나리오>" JSON 항목을 한 번만 옮기고 삭제 (이후로는 prefs 전체를 훑지 않음)
+    private void importLegacyPrefs(SharedPreferences prefs, String userId) {
+        String legacyPrefix = userId + "_" + LEGACY_KEY_PREFIX;
+        Gson gson = new Gson();
+        List<String> legacyKeys = new ArrayList<>();
+
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(legacyPrefix) || !(entry.getValue() instanceof String)) {
+                continue;
+            }
+            legacyKeys.add(key);
+            try {
+                JsonObject json = gson.fromJson((String) entry.getValue(), JsonObject.class);
+                int completed = json.has("completed") ? json.get("completed").getAsInt() : 0;
+                int total = json.has("total") ? json.get("total").getAsInt() : 10;
+                long lastUpdated = json.has("last_updated") ? json.get("last_updated").getAsLong() : 0;
+                progressMap.put(key.substring(legacyPrefix.length()), new Progress(completed, total, lastUpdated));
+            } catch (Exception e) {
+                Log.w(TAG, "Skipping invalid legacy progress: " + key, e);
+            }
+        }
+
+        try {
+            // 파일을 먼저 써야 이전 항목을 지워도 진도가 사라지지 않음
+            writeFile(new LinkedHashMap<>(progressMap));
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write migrated scenario progress", e);
+            return;
+        }
+
+        if (!legacyKeys.isEmpty()) {
+            SharedPreferences.Editor editor = prefs.edit();
+            for (String key : legacyKeys) {
+                editor.remove(key);
+            }
+            editor.apply();
+            Log.d(TAG, "Migrated " + legacyKeys.size() + " legacy progress entries");
+        }
+    }
+}
@@ -2,35 +2,43 @@ package com.cookandroid.justspeakapp.data;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.SetOptions;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 사용자별 데이터를 관리하는 클래스
  * - 로컬 캐시: SharedPreferences (빠른 접근)
  * - 클라우드 동기화: Firebase Firestore (백업 & 멀티 디바이스)
+ *   쓰기는 FirestoreSyncQueue로 모아서 전송하며, 오프라인이면 연결된 뒤 전송
  * Firebase UID를 기반으로 데이터를 분리하여 저장
  */
 public class UserDataManager {
     private static final String TAG = "UserDataManager";
     private static final String PREFS_NAME = "JustSpeakApp_UserData";
 
+    private final Context appContext;
     private final SharedPreferences prefs;
     private final FirebaseAuth auth;
     private final FirebaseFirestore firestore;
-    private final Gson gson;
+    private final FirestoreSyncQueue syncQueue;
+
+    // 사용자 프로필 스냅샷 (화면마다 UserDataManager를 새로 만들므로 프로세스 전체에서 공유)
+    private static volatile UserProfile cachedProfile;
+    // 화면(Activity)이 등록하므로 약한 참조로 보관 (해제를 빠뜨려도 화면이 메모리에 남지 않음)
+    private static final List<WeakReference<ProfileListener>> profileListeners = new CopyOnWriteArrayList<>();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     public interface DataCallback {
         void onSuccess(Map<String, Object> data);
@@ -42,11 +50,19 @@ public class UserDataManager {
         void onError(String error);
     }
 
+    public interface ProfileListener {
+        /**
+         * 프로필 값이 저장/동기화되어 스냅샷이 바뀌었을 때 (UI 스레드에서 호출)
+         */
+        void onProfileChanged(UserProfile profile);
+    }
+
     public UserDataManager(Context context) {
+        this.appContext = context.getApplicationContext();
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         this.auth = FirebaseAuth.getInstance();
         this.firestore = FirebaseFirestore.getInstance();
-        this.gson = new Gson();
+        this.syncQueue = FirestoreSyncQueue.getInstance(context);
     }
 
     /**
@@ -95,10 +111,11 @@ public class UserDataManager {
             editor.putBoolean(getUserKey("is_conversation_test"), true);
             editor.putLong(getUserKey("level_test_date"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "Conversation level test result saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> levelData = new HashMap<>();
             levelData.put("level", level);
             levelData.put("test_score", score);
@@ -111,16 +128,9 @@ public class UserDataManager {
             levelData.put("level_test_date", timestamp);
             levelData.put("updated_at", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(levelData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Conversation level test result synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed, but local save succeeded", e);
-                        callback.onSuccess(); // 로컬 저장 성공했으므로 성공 처리
-                    });
+            syncQueue.set("users/" + userId, levelData);
+            Log.d(TAG, "Conversation level test result queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving conversation level test result", e);
@@ -151,10 +161,11 @@ public class UserDataManager {
             editor.putBoolean(getUserKey("level_test_completed"), true);
             editor.putLong(getUserKey("level_test_date"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "Level test result saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> levelData = new HashMap<>();
             levelData.put("level", level);
             levelData.put("test_score", score);
@@ -164,16 +175,9 @@ public class UserDataManager {
             levelData.put("level_test_date", timestamp);
             levelData.put("updated_at", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(levelData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Level test result synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed, but local save succeeded", e);
-                        callback.onSuccess(); // 로컬 저장 성공했으므로 성공 처리
-                    });
+            syncQueue.set("users/" + userId, levelData);
+            Log.d(TAG, "Level test result queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving level test result", e);
@@ -199,24 +203,18 @@ public class UserDataManager {
             editor.putString(getUserKey("interests"), interests);
             editor.putLong(getUserKey("interests_updated"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "User interests saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> interestsData = new HashMap<>();
             interestsData.put("interests", interests);
             interestsData.put("interests_updated", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(interestsData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "User interests synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for interests, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId, interestsData);
+            Log.d(TAG, "User interests queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving user interests", e);
@@ -242,24 +240,18 @@ public class UserDataManager {
             editor.putString(getUserKey("learning_goal"), goal);
             editor.putLong(getUserKey("goal_updated"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "Learning goal saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> goalData = new HashMap<>();
             goalData.put("learning_goal", goal);
             goalData.put("goal_updated", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(goalData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Learning goal synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for learning goal, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId, goalData);
+            Log.d(TAG, "Learning goal queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving learning goal", e);
@@ -285,24 +277,18 @@ public class UserDataManager {
             editor.putBoolean(getUserKey("onboarding_completed"), completed);
             editor.putLong(getUserKey("onboarding_date"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "Onboarding status saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> onboardingData = new HashMap<>();
             onboardingData.put("onboarding_completed", completed);
             onboardingData.put("onboarding_date", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(onboardingData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Onboarding status synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for onboarding, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId, onboardingData);
+            Log.d(TAG, "Onboarding status queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving onboarding status", e);
@@ -311,70 +297,79 @@ public class UserDataManager {
     }
 
     /**
-     * 사용자 데이터 가져오기
+     * 현재 사용자의 프로필 스냅샷 (로그인하지 않았으면 null)
+     * 처음 한 번만 로컬 저장소에서 읽고, 이후에는 저장할 때마다 갱신된 스냅샷을 그대로 반환
      */
-    public void getUserData(DataCallback callback) {
+    public UserProfile getProfile() {
         String userId = getCurrentUserId();
         if (userId == null) {
-            callback.onError("User not logged in");
-            return;
+            return null;
         }
 
-        try {
-            Map<String, Object> data = new HashMap<>();
-
-            // 모든 사용자 데이터를 Map에 담아서 반환
-            String level = prefs.getString(getUserKey("level"), null);
-            if (level != null) data.put("level", level);
-
-            int testScore = prefs.getInt(getUserKey("test_score"), -1);
-            if (testScore != -1) data.put("test_score", testScore);
-
-            int correctAnswers = prefs.getInt(getUserKey("test_correct_answers"), -1);
-            if (correctAnswers != -1) data.put("test_correct_answers", correctAnswers);
-
-            int totalQuestions = prefs.getInt(getUserKey("test_total_questions"), -1);
-            if (totalQuestions != -1) data.put("test_total_questions", totalQuestions);
-
-            boolean levelTestCompleted = prefs.getBoolean(getUserKey("level_test_completed"), false);
-            data.put("level_test_completed", levelTestCompleted);
-
-            boolean isConversationTest = prefs.getBoolean(getUserKey("is_conversation_test"), false);
-            data.put("is_conversation_test", isConversationTest);
-
-            // 대화형 레벨 테스트 세부 점수
-            int grammarScore = prefs.getInt(getUserKey("grammar_score"), -1);
-            if (grammarScore != -1) data.put("grammar_score", grammarScore);
-
-            int vocabularyScore = prefs.getInt(getUserKey("vocabulary_score"), -1);
-            if (vocabularyScore != -1) data.put("vocabulary_score", vocabularyScore);
-
-            int complexityScore = prefs.getInt(getUserKey("complexity_score"), -1);
-            if (complexityScore != -1) data.put("complexity_score", complexityScore);
-
-            int communicationScore = prefs.getInt(getUserKey("communication_score"), -1);
-            if (communicationScore != -1) data.put("communication_score", communicationScore);
-
-            long levelTestDate = prefs.getLong(getUserKey("level_test_date"), -1);
-            if (levelTestDate != -1) data.put("level_test_date", levelTestDate);
-
-            String interests = prefs.getString(getUserKey("interests"), null);
-            if (interests != null) data.put("interests", interests);
+        UserProfile profile = cachedProfile;
+        if (profile == null || !profile.getUserId().equals(userId)) {
+            profile = UserProfile.load(prefs, userId);
+            cachedProfile = profile;
+        }
+        return profile;
+    }
 
-            long interestsUpdated = prefs.getLong(getUserKey("interests_updated"), -1);
-            if (interestsUpdated != -1) data.put("interests_updated", interestsUpdated);
+    /**
+     * 프로필 변경 리스너 등록 (약한 참조로 보관하므로 호출하는 쪽이 필드로 리스너를 가지고 있어야 함)
+     * 화면 종료 시 removeProfileListener로 해제
+     */
+    public static void addProfileListener(ProfileListener listener) {
+        if (listener == null) {
+            return;
+        }
+        for (WeakReference<ProfileListener> ref : profileListeners) {
+            if (ref.get() == listener) {
+                return;
+            }
+        }
+        profileListeners.add(new WeakReference<>(listener));
+    }
 
-            String learningGoal = prefs.getString(getUserKey("learning_goal"), null);
-            if (learningGoal != null) data.put("learning_goal", learningGoal);
+    public static void removeProfileListener(ProfileListener listener) {
+        for (WeakReference<ProfileListener> ref : profileListeners) {
+            ProfileListener registered = ref.get();
+            if (registered == null || registered == listener) {
+                profileListeners.remove(ref);
+            }
+        }
+    }
 
-            long goalUpdated = prefs.getLong(getUserKey("goal_updated"), -1);
-            if (goalUpdated != -1) data.put("goal_updated", goalUpdated);
+    // 프로필 관련 값을 저장한 뒤 호출: 스냅샷을 다시 읽고 리스너에 알림
+    private void refreshProfile(String userId) {
+        UserProfile profile = UserProfile.load(prefs, userId);
+        cachedProfile = profile;
+        if (profileListeners.isEmpty()) {
+            return;
+        }
+        mainHandler.post(() -> {
+            for (WeakReference<ProfileListener> ref : profileListeners) {
+                ProfileListener listener = ref.get();
+                if (listener != null) {
+                    listener.onProfileChanged(profile);
+                } else {
+                    profileListeners.remove(ref); // 해제되지 않고 사라진 리스너 정리
+                }
+            }
+        });
+    }
 
-            boolean onboardingCompleted = prefs.getBoolean(getUserKey("onboarding_completed"), false);
-            data.put("onboarding_completed", onboardingCompleted);
+    /**
+     * 사용자 데이터 가져오기
+     */
+    public void getUserData(DataCallback callback) {
+        String userId = getCurrentUserId();
+        if (userId == null) {
+            callback.onError("User not logged in");
+            return;
+        }
 
-            long onboardingDate = prefs.getLong(getUserKey("onboarding_date"), -1);
-            if (onboardingDate != -1) data.put("onboarding_date", onboardingDate);
+        try {
+            Map<String, Object> data = getProfile().toMap();
 
             Log.d(TAG, "User data retrieved successfully for user: " + userId);
             callback.onSuccess(data);
@@ -402,24 +397,18 @@ public class UserDataManager {
             editor.putString(getUserKey("level"), level);
             editor.putLong(getUserKey("level_updated"), timestamp);
             editor.apply();
+            refreshProfile(userId);
 
             Log.d(TAG, "User level saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> levelData = new HashMap<>();
             levelData.put("level", level);
             levelData.put("updated_at", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .set(levelData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "User level synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for level, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId, levelData);
+            Log.d(TAG, "User level queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving user level", e);
@@ -460,44 +449,20 @@ public class UserDataManager {
         try {
             long timestamp = System.currentTimeMillis();
 
-            // 1. 로컬 캐시에 저장
-            String conversationLogsJson = prefs.getString(getUserKey("conversation_logs"), "[]");
-            Type listType = new TypeToken<List<Map<String, Object>>>(){}.getType();
-            List<Map<String, Object>> logs = gson.fromJson(conversationLogsJson, listType);
-
-            if (logs == null) {
-                logs = new ArrayList<>();
-            }
-
-            Map<String, Object> newLog = new HashMap<>();
-            newLog.put("scenario", scenario);
-            newLog.put("conversation_data", conversationData);
-            newLog.put("timestamp", timestamp);
-            logs.add(newLog);
-
-            String updatedJson = gson.toJson(logs);
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putString(getUserKey("conversation_logs"), updatedJson);
-            editor.apply();
+            // 1. 로컬 로그 파일 끝에 추가 (기존 기록을 다시 읽거나 쓰지 않음)
+            getConversationLogStore(userId).append(scenario, conversationData, timestamp);
 
             Log.d(TAG, "Conversation log saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화 (각 대화를 별도 문서로 저장)
+            // 2. Firestore 동기화 예약 (각 대화를 별도 문서로 저장)
             Map<String, Object> firestoreLog = new HashMap<>();
             firestoreLog.put("scenario", scenario);
             firestoreLog.put("conversation_data", conversationData);
             firestoreLog.put("timestamp", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .collection("conversation_logs").add(firestoreLog)
-                    .addOnSuccessListener(docRef -> {
-                        Log.d(TAG, "Conversation log synced to Firestore: " + docRef.getId());
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for conversation log, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            String logId = syncQueue.add("users/" + userId + "/conversation_logs", firestoreLog);
+            Log.d(TAG, "Conversation log queued for Firestore sync: " + logId);
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving conversation log", e);
@@ -505,6 +470,32 @@ public class UserDataManager {
         }
     }
 
+    /**
+     * 로컬 대화 로그를 최신순으로 페이지 단위로 읽기 (page는 0부터, callback은 UI 스레드에서 호출)
+     */
+    public void getConversationLogs(int page, int pageSize, ConversationLogStore.PageCallback callback) {
+        String userId = getCurrentUserId();
+        if (userId == null) {
+            callback.onPage(new ArrayList<>(), false);
+            return;
+        }
+        getConversationLogStore(userId).readPage(page, pageSize, callback);
+    }
+
+    /**
+     * 사용자별 대화 로그 저장소
+     * 예전 버전에서 SharedPreferences에 JSON 배열로 저장한 로그가 있으면 처음 한 번 옮기고,
+     * 파일에 모두 기록된 뒤에 삭제
+     */
+    private ConversationLogStore getConversationLogStore(String userId) {
+        ConversationLogStore store = ConversationLogStore.getInstance(appContext, userId);
+        String legacyKey = userId + "_conversation_logs";
+        if (prefs.contains(legacyKey)) {
+            store.importLegacyJson(prefs, legacyKey);
+        }
+        return store;
+    }
+
     /**
      * 학습 진도 업데이트 (로컬 + Firestore 동기화)
      */
@@ -519,36 +510,20 @@ public class UserDataManager {
         try {
             long timestamp = System.currentTimeMillis();
 
-            // 1. 로컬 캐시에 저장
-            Map<String, Object> progress = new HashMap<>();
-            progress.put("completed", completedLessons);
-            progress.put("total", totalLessons);
-            progress.put("last_updated", timestamp);
-
-            String progressJson = gson.toJson(progress);
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putString(getUserKey("progress_" + scenario), progressJson);
-            editor.apply();
+            // 1. 로컬 진도 저장소에 저장
+            getProgressStore(userId).put(scenario, completedLessons, totalLessons, timestamp);
 
             Log.d(TAG, "Learning progress saved to local for user: " + userId);
 
-            // 2. Firestore에 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> firestoreProgress = new HashMap<>();
             firestoreProgress.put("completed", completedLessons);
             firestoreProgress.put("total", totalLessons);
             firestoreProgress.put("last_updated", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .collection("progress").document(scenario)
-                    .set(firestoreProgress, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Learning progress synced to Firestore for scenario: " + scenario);
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for progress, but local save succeeded", e);
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId + "/progress/" + scenario, firestoreProgress);
+            Log.d(TAG, "Learning progress queued for Firestore sync for scenario: " + scenario);
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error updating learning progress", e);
@@ -565,39 +540,8 @@ public class UserDataManager {
             return null;
         }
 
-        try {
-            String progressJson = prefs.getString(getUserKey("progress_" + scenario), null);
-            if (progressJson == null) {
-                return null;
-            }
-
-            Type mapType = new TypeToken<Map<String, Object>>(){}.getType();
-            Map<String, Object> progressData = gson.fromJson(progressJson, mapType);
-
-            Map<String, Integer> result = new HashMap<>();
-
-            // Cast 예외 처리: 데이터 형식이 잘못된 경우 기본값 사용
-            try {
-                Object completedObj = progressData.get("completed");
-                result.put("completed", completedObj != null ? ((Number) completedObj).intValue() : 0);
-            } catch (ClassCastException e) {
-                Log.w(TAG, "Invalid completed value format, using default 0");
-                result.put("completed", 0);
-            }
-
-            try {
-                Object totalObj = progressData.get("total");
-                result.put("total", totalObj != null ? ((Number) totalObj).intValue() : 10);
-            } catch (ClassCastException e) {
-                Log.w(TAG, "Invalid total value format, using default 10");
-                result.put("total", 10);
-            }
-
-            return result;
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting scenario progress", e);
-            return null;
-        }
+        ScenarioProgressStore.Progress progress = getProgressStore(userId).get(scenario);
+        return progress != null ? toProgressMap(progress) : null;
     }
 
     /**
@@ -610,27 +554,45 @@ public class UserDataManager {
         }
 
         Map<String, Map<String, Integer>> allProgress = new HashMap<>();
+        for (Map.Entry<String, ScenarioProgressStore.Progress> entry : getProgressStore(userId).getAll().entrySet()) {
+            allProgress.put(entry.getKey(), toProgressMap(entry.getValue()));
+        }
 
-        try {
-            Map<String, ?> allPrefs = prefs.getAll();
-            String progressPrefix = userId + "_progress_";
+        Log.d(TAG, "Retrieved progress for " + allProgress.size() + " scenarios");
+        return allProgress;
+    }
 
-            for (String key : allPrefs.keySet()) {
-                if (key.startsWith(progressPrefix)) {
-                    String scenarioId = key.substring(progressPrefix.length());
-                    Map<String, Integer> progress = getScenarioProgress(scenarioId);
-                    if (progress != null) {
-                        allProgress.put(scenarioId, progress);
-                    }
-                }
-            }
+    /**
+     * 사용자 진도 저장소 (처음 사용할 때 기존 SharedPreferences의 progress_ 항목을 옮겨옴)
+     */
+    private ScenarioProgressStore getProgressStore(String userId) {
+        return ScenarioProgressStore.getInstance(appContext, prefs, userId);
+    }
 
-            Log.d(TAG, "Retrieved progress for " + allProgress.size() + " scenarios");
-            return allProgress;
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting all scenario progress", e);
-            return new HashMap<>();
+    private Map<String, Integer> toProgressMap(ScenarioProgressStore.Progress progress) {
+        Map<String, Integer> result = new HashMap<>();
+        result.put("completed", progress.completed);
+        result.put("total", progress.total);
+        return result;
+    }
+
+    /**
+     * 마지막으로 시작한 시나리오 저장 (로컬 전용, 인사말 음성 미리 합성에 사용)
+     */
+    public void saveLastScenario(String scenarioId) {
+        String key = getUserKey("last_scenario");
+        if (key == null || scenarioId == null) {
+            return;
         }
+        prefs.edit().putString(key, scenarioId).apply();
+    }
+
+    /**
+     * 마지막으로 시작한 시나리오 ID, 기록이 없으면 null
+     */
+    public String getLastScenario() {
+        String key = getUserKey("last_scenario");
+        return key != null ? prefs.getString(key, null) : null;
     }
 
     /**
@@ -655,24 +617,15 @@ public class UserDataManager {
 
             Log.d(TAG, "Voice settings saved to local cache for user: " + userId);
 
-            // 2. Firestore에 클라우드 동기화
+            // 2. Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> settings = new HashMap<>();
             settings.put("voice_gender", voiceGender);
             settings.put("voice_speed", voiceSpeed);
             settings.put("updated_at", timestamp);
 
-            firestore.collection("users").document(userId)
-                    .collection("settings").document("voice")
-                    .set(settings, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Voice settings synced to cloud");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Cloud sync failed, but local save succeeded", e);
-                        // 로컬 저장은 성공했으므로 성공으로 처리
-                        callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId + "/settings/voice", settings);
+            Log.d(TAG, "Voice settings queued for cloud sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving voice settings", e);
@@ -712,6 +665,20 @@ public class UserDataManager {
         }
     }
 
+    /**
+     * 음성 성별 ("female" / "male")
+     */
+    public String getVoiceGender() {
+        return (String) getVoiceSettings().get("voice_gender");
+    }
+
+    /**
+     * 음성 속도 (기본값 1.0)
+     */
+    public float getVoiceSpeed() {
+        return (Float) getVoiceSettings().get("voice_speed");
+    }
+
     /**
      * 클라우드에서 음성 설정 동기화 (로그인 시 호출)
      */
@@ -854,6 +821,7 @@ public class UserDataManager {
 
                                 editor.putLong(getUserKey("level_test_date"), cloudTimestamp);
                                 editor.apply();
+                                refreshProfile(userId);
 
                                 Log.d(TAG, "Level test data synced from cloud to local. Level: " + level);
                             } else {
@@ -929,6 +897,7 @@ public class UserDataManager {
                             }
 
                             editor.apply();
+                            refreshProfile(userId);
                             Log.d(TAG, "Onboarding data synced from cloud to local");
                             callback.onSuccess();
                         } catch (Exception e) {
@@ -959,6 +928,9 @@ public class UserDataManager {
 
         Log.d(TAG, "Starting complete user data deletion for user: " + userId);
 
+        // 아직 전송되지 않은 쓰기가 삭제 후 문서를 다시 만들지 않도록 먼저 비움
+        syncQueue.clearUser(userId);
+
         // Firestore 사용자 문서 참조
         com.google.firebase.firestore.DocumentReference userDocRef = firestore.collection("users").document(userId);
 
@@ -1041,6 +1013,9 @@ public class UserDataManager {
             }
 
             editor.apply();
+            ConversationLogStore.getInstance(appContext, userId).deleteAll();
+            getProgressStore(userId).deleteAll();
+            refreshProfile(userId);
             Log.d(TAG, "Local user data deleted successfully for user: " + userId);
         } catch (Exception e) {
             Log.e(TAG, "Error deleting local user data", e);
@@ -1103,23 +1078,16 @@ public class UserDataManager {
 
             Log.d(TAG, "Daily progress saved to local for user: " + userId + " - " + dailyCompleted + "/" + dailyGoal);
 
-            // Firestore에 동기화
+            // Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> dailyData = new HashMap<>();
             dailyData.put("daily_completed", dailyCompleted);
             dailyData.put("daily_goal", dailyGoal);
             dailyData.put("last_learning_date", date);
             dailyData.put("updated_at", System.currentTimeMillis());
 
-            firestore.collection("users").document(userId)
-                    .set(dailyData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Daily progress synced to Firestore");
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for daily progress", e);
-                        callback.onSuccess(); // 로컬 저장 성공
-                    });
+            syncQueue.set("users/" + userId, dailyData);
+            Log.d(TAG, "Daily progress queued for Firestore sync");
+            callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error updating daily progress", e);
@@ -1183,21 +1151,14 @@ public class UserDataManager {
 
             Log.d(TAG, "Marked today as learned for user: " + userId + " - " + today);
 
-            // Firestore에 동기화
+            // Firestore 동기화 예약 (같은 문서의 변경을 모아 한 번에 전송)
             Map<String, Object> calendarData = new HashMap<>();
             calendarData.put("learning_days", new java.util.ArrayList<>(learningDays));
             calendarData.put("updated_at", System.currentTimeMillis());
 
-            firestore.collection("users").document(userId)
-                    .set(calendarData, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Learning days synced to Firestore");
-                        if (callback != null) callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Firestore sync failed for learning days", e);
-                        if (callback != null) callback.onSuccess();
-                    });
+            syncQueue.set("users/" + userId, calendarData);
+            Log.d(TAG, "Learning days queued for Firestore sync");
+            if (callback != null) callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error marking today as learned", e);
@@ -1233,18 +1194,10 @@ public class UserDataManager {
             feedbackData.put("timestamp", timestamp);
             feedbackData.put("created_at", System.currentTimeMillis());
 
-            // Firestore에 피드백 기록 저장 (서브컬렉션)
-            firestore.collection("users").document(userId)
-                    .collection("feedback_history")
-                    .add(feedbackData)
-                    .addOnSuccessListener(docRef -> {
-                        Log.d(TAG, "Feedback saved to Firestore: " + docRef.getId());
-                        if (callback != null) callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to save feedback to Firestore", e);
-                        if (callback != null) callback.onError(e.getMessage());
-                    });
+            // Firestore에 피드백 기록 저장 예약 (서브컬렉션, 오프라인이면 연결된 뒤 전송)
+            String feedbackId = syncQueue.add("users/" + userId + "/feedback_history", feedbackData);
+            Log.d(TAG, "Feedback queued for Firestore sync: " + feedbackId);
+            if (callback != null) callback.onSuccess();
 
         } catch (Exception e) {
             Log.e(TAG, "Error saving lesson feedback", e);
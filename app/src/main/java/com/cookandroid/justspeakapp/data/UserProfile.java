@@ -0,0 +1,110 @@
+package com.cookandroid.justspeakapp.data;
+
+import android.content.SharedPreferences;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자 프로필 스냅샷 (변경 불가)
+ * UserDataManager가 로컬 저장소에서 한 번 읽어 보관하고, 프로필 값을 저장할 때마다 새 스냅샷으로 교체
+ * 화면에서는 Map 조회/형변환 없이 필드 값을 바로 사용
+ * 값이 없는 숫자 항목은 -1, 문자열 항목은 null
+ */
+public final class UserProfile {
+    private final String userId;
+
+    // 레벨 테스트
+    private final String level;
+    private final int testScore;
+    private final int correctAnswers;
+    private final int totalQuestions;
+    private final boolean levelTestCompleted;
+    private final boolean conversationTest;
+    private final int grammarScore;
+    private final int vocabularyScore;
+    private final int complexityScore;
+    private final int communicationScore;
+    private final long levelTestDate;
+
+    // 온보딩
+    private final String interests;
+    private final long interestsUpdated;
+    private final String learningGoal;
+    private final long goalUpdated;
+    private final boolean onboardingCompleted;
+    private final long onboardingDate;
+
+    private UserProfile(SharedPreferences prefs, String userId) {
+        String prefix = userId + "_";
+        this.userId = userId;
+        this.level = prefs.getString(prefix + "level", null);
+        this.testScore = prefs.getInt(prefix + "test_score", -1);
+        this.correctAnswers = prefs.getInt(prefix + "test_correct_answers", -1);
+        this.totalQuestions = prefs.getInt(prefix + "test_total_questions", -1);
+        this.levelTestCompleted = prefs.getBoolean(prefix + "level_test_completed", false);
+        this.conversationTest = prefs.getBoolean(prefix + "is_conversation_test", false);
+        this.grammarScore = prefs.getInt(prefix + "grammar_score", -1);
+        this.vocabularyScore = prefs.getInt(prefix + "vocabulary_score", -1);
+        this.complexityScore = prefs.getInt(prefix + "complexity_score", -1);
+        this.communicationScore = prefs.getInt(prefix + "communication_score", -1);
+        this.levelTestDate = prefs.getLong(prefix + "level_test_date", -1);
+        this.interests = prefs.getString(prefix + "interests", null);
+        this.interestsUpdated = prefs.getLong(prefix + "interests_updated", -1);
+        this.learningGoal = prefs.getString(prefix + "learning_goal", null);
+        this.goalUpdated = prefs.getLong(prefix + "goal_updated", -1);
+        this.onboardingCompleted = prefs.getBoolean(prefix + "onboarding_completed", false);
+        this.onboardingDate = prefs.getLong(prefix + "onboarding_date", -1);
+    }
+
+    /**
+     * 로컬 저장소에서 사용자 프로필 읽기 (UserDataManager 전용)
+     */
+    static UserProfile load(SharedPreferences prefs, String userId) {
+        return new UserProfile(prefs, userId);
+    }
+
+    public String getUserId() { return userId; }
+    public String getLevel() { return level; }
+    public int getTestScore() { return testScore; }
+    public int getCorrectAnswers() { return correctAnswers; }
+    public int getTotalQuestions() { return totalQuestions; }
+    public boolean isLevelTestCompleted() { return levelTestCompleted; }
+    public boolean isConversationTest() { return conversationTest; }
+    public int getGrammarScore() { return grammarScore; }
+    public int getVocabularyScore() { return vocabularyScore; }
+    public int getComplexityScore() { return complexityScore; }
+    public int getCommunicationScore() { return communicationScore; }
+    public long getLevelTestDate() { return levelTestDate; }
+    public String getInterests() { return interests; }
+    public long getInterestsUpdated() { return interestsUpdated; }
+    public String getLearningGoal() { return learningGoal; }
+    public long getGoalUpdated() { return goalUpdated; }
+    public boolean isOnboardingCompleted() { return onboardingCompleted; }
+    public long getOnboardingDate() { return onboardingDate; }
+
+    /**
+     * 기존 getUserData() 형식의 Map (값이 없는 항목은 넣지 않음)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new HashMap<>();
+        if (level != null) data.put("level", level);
+        if (testScore != -1) data.put("test_score", testScore);
+        if (correctAnswers != -1) data.put("test_correct_answers", correctAnswers);
+        if (totalQuestions != -1) data.put("test_total_questions", totalQuestions);
+        data.put("level_test_completed", levelTestCompleted);
+        data.put("is_conversation_test", conversationTest);
+        if (grammarScore != -1) data.put("grammar_score", grammarScore);
+        if (vocabularyScore != -1) data.put("vocabulary_score", vocabularyScore);
+        if (complexityScore != -1) data.put("complexity_score", complexityScore);
+        if (communicationScore != -1) data.put("communication_score", communicationScore);
+        if (levelTestDate != -1) data.put("level_test_date", levelTestDate);
+        if (interests != null) data.put("interests", interests);
+        if (interestsUpdated != -1) data.put("interests_updated", interestsUpdated);
+        if (learningGoal != null) data.put("learning_goal", learningGoal);
+        if (goalUpdated != -1) data.put("goal_updated", goalUpdated);
+        data.put("onboarding_completed", onboardingCompleted);
+        if (onboardingDate != -1) data.put("onboarding_date", onboardingDate);
+        return data;
+    }
+}
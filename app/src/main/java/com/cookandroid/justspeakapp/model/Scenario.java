@@ -32,4 +32,72 @@ public class Scenario {
     public void setDescription(String description) { this.description = description; }
     public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
     public void setCategory(String category) { this.category = category; }
+
+    /**
+     * 시나리오별 AI 첫 인사 메시지 (대화 시작, 인사말 음성 미리 합성에 사용)
+     */
+    public static String getGreeting(String scenarioId) {
+        if (scenarioId == null) {
+            return "Hi! Let's practice English together. How are you today?";
+        }
+
+        switch (scenarioId) {
+            case "scenario_daily":
+            case "daily_conversation":
+            case "daily":
+                return "Hi! Let's have a casual chat. How was your day today?";
+
+            case "scenario_travel":
+            case "travel_english":
+            case "travel":
+                return "Welcome! I'm here to help you practice travel English. Are you planning a trip soon?";
+
+            case "scenario_shopping":
+                return "Hello! Welcome to our store. Can I help you find something today?";
+
+            case "scenario_restaurant":
+                return "Good evening! Welcome to our restaurant. Would you like to see the menu?";
+
+            case "scenario_business":
+                return "Good morning. Let's practice some business English. What would you like to discuss today?";
+
+            case "scenario_hotel":
+                return "Welcome to our hotel! Do you have a reservation, or would you like to book a room?";
+
+            case "scenario_airport":
+                return "Hello! Welcome to the airport. May I see your passport and boarding pass?";
+
+            case "scenario_medical":
+                return "Hello, I'm the doctor. What brings you in today? How are you feeling?";
+
+            case "scenario_phone":
+                return "Hello, this is the customer service line. How may I help you today?";
+
+            case "scenario_job_interview":
+            case "interview_prep":
+            case "interview":
+                return "Hello, thank you for coming in today. Please have a seat. Can you tell me a little about yourself?";
+
+            case "scenario_presentation":
+                return "Let's practice your presentation skills. What topic would you like to present on?";
+
+            case "scenario_meeting":
+                return "Good morning everyone. Let's start our meeting. What's on the agenda today?";
+
+            case "scenario_negotiation":
+                return "Thank you for meeting with me today. Shall we discuss the terms of our agreement?";
+
+            case "scenario_email":
+                return "Let's practice writing professional emails. What kind of email do you need to write?";
+
+            case "scenario_debate":
+                return "Welcome to our discussion session. What topic would you like to debate today?";
+
+            case "scenario_networking":
+                return "Hi there! Nice to meet you. So, what brings you to this event?";
+
+            default:
+                return "Hi! Let's practice English together. What would you like to talk about?";
+        }
+    }
 }
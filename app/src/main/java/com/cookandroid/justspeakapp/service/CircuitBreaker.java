@@ -0,0 +1,90 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.util.Log;
+
+/**
+ * 엔드포인트별 서킷 브레이커
+ * 연속 실패가 임계값에 도달하면 일정 시간 동안 요청을 즉시 거부하고 (OPEN),
+ * 대기 시간이 지나면 한 번의 시험 요청만 허용 (HALF_OPEN)
+ */
+public class CircuitBreaker {
+    private static final String TAG = "CircuitBreaker";
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openUntil = 0;
+    private boolean trialInFlight = false;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * 요청을 보내도 되는지 확인 (HALF_OPEN에서는 시험 요청 1개만 허용)
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            Log.d(TAG, name + ": half-open, allowing trial request");
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            Log.d(TAG, name + ": closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * 서비스 장애성 실패 기록
+     * retryAfterMs: 서버가 알려준 대기 시간이 있으면 OPEN 유지 시간으로 사용 (없으면 0)
+     */
+    public synchronized void recordFailure(long retryAfterMs) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            trialInFlight = false;
+            openUntil = System.currentTimeMillis() + Math.max(openDurationMs, retryAfterMs);
+            Log.w(TAG, name + ": opened after " + consecutiveFailures + " failures, for "
+                    + (openUntil - System.currentTimeMillis()) + "ms");
+        }
+    }
+
+    /**
+     * 서비스 장애와 무관한 실패 (잘못된 요청 등) - 시험 요청 슬롯만 반납
+     */
+    public synchronized void recordIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() < openUntil;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
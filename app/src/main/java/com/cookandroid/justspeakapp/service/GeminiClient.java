@@ -0,0 +1,149 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.ai.client.generativeai.GenerativeModel;
+import com.google.ai.client.generativeai.java.GenerativeModelFutures;
+import com.google.ai.client.generativeai.type.GenerateContentResponse;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 앱 전체에서 공유하는 Gemini 클라이언트 (프로세스당 1개)
+ * 모델 인스턴스, 콜백 스레드 풀, 타임아웃 스케줄러, 응답 캐시, 서킷 브레이커를 한 번만 만들고
+ * 화면마다 생성되는 GeminiService(대화 세션)가 이를 함께 사용
+ */
+public class GeminiClient {
+    private static final String TAG = "GeminiClient";
+    static final String MODEL_NAME = "gemini-2.0-flash";
+    private static final int CALLBACK_POOL_SIZE = 2; // 콜백 처리 스레드 수 (화면 수와 무관하게 고정)
+    private static final int CIRCUIT_FAILURE_THRESHOLD = 3; // 연속 실패 시 서킷 오픈
+    private static final long CIRCUIT_OPEN_MS = 30000; // 서킷 오픈 유지 시간
+
+    private static volatile GeminiClient instance;
+
+    private final String apiKey;
+    private GenerativeModelFutures model;
+    private final ExecutorService callbackExecutor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final GeminiResponseCache responseCache;
+
+    // 엔드포인트별 서킷 브레이커 (채팅 / 단발성 생성)
+    private final CircuitBreaker chatBreaker =
+            new CircuitBreaker("chat", CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_OPEN_MS);
+    private final CircuitBreaker generateBreaker =
+            new CircuitBreaker("generate", CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_OPEN_MS);
+
+    // 진행 중인 동일 요청 공유 (single-flight): 요청 키 → 진행 중인 Future
+    private final Map<String, ListenableFuture<GenerateContentResponse>> inFlightRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger coalescedRequestCount = new AtomicInteger();
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+
+    public static GeminiClient getInstance(Context context, String apiKey) {
+        GeminiClient client = instance;
+        if (client == null || !client.apiKey.equals(apiKey)) {
+            synchronized (GeminiClient.class) {
+                client = instance;
+                if (client == null || !client.apiKey.equals(apiKey)) {
+                    client = new GeminiClient(context.getApplicationContext(), apiKey);
+                    instance = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private GeminiClient(Context appContext, String apiKey) {
+        this.apiKey = apiKey != null ? apiKey : "";
+        this.callbackExecutor = createCallbackExecutor();
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+                newThreadFactory("gemini-scheduler"));
+        this.responseCache = new GeminiResponseCache(appContext);
+        initializeModel();
+    }
+
+    private void initializeModel() {
+        try {
+            // API 키는 로그에 절대 노출하지 않음 (보안)
+            Log.d(TAG, "Initializing shared Gemini model...");
+            GenerativeModel gm = new GenerativeModel(MODEL_NAME, apiKey);
+            model = GenerativeModelFutures.from(gm);
+            Log.d(TAG, "Gemini model initialized successfully");
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to initialize Gemini model: " + e.getMessage(), e);
+            model = null;
+        }
+    }
+
+    // 유휴 시 스레드가 종료되는 고정 크기 풀
+    private static ExecutorService createCallbackExecutor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                CALLBACK_POOL_SIZE, CALLBACK_POOL_SIZE,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                newThreadFactory("gemini-callback"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public boolean isInitialized() {
+        return model != null;
+    }
+
+    GenerativeModelFutures getModel() {
+        return model;
+    }
+
+    ExecutorService getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    ScheduledExecutorService getTimeoutScheduler() {
+        return timeoutScheduler;
+    }
+
+    GeminiResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    CircuitBreaker getChatBreaker() {
+        return chatBreaker;
+    }
+
+    CircuitBreaker getGenerateBreaker() {
+        return generateBreaker;
+    }
+
+    Map<String, ListenableFuture<GenerateContentResponse>> getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    AtomicInteger getCoalescedRequestCounter() {
+        return coalescedRequestCount;
+    }
+
+    // 대화 세션 구분용 ID (세션 간 채팅 요청 키 충돌 방지)
+    int nextSessionId() {
+        return sessionCounter.incrementAndGet();
+    }
+}
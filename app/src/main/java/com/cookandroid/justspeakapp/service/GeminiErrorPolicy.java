@@ -0,0 +1,191 @@
+package com.cookandroid.justspeakapp.service;
+
+import com.google.ai.client.generativeai.type.InvalidAPIKeyException;
+import com.google.ai.client.generativeai.type.PromptBlockedException;
+import com.google.ai.client.generativeai.type.ServerException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gemini 오류 분류 및 재시도 정책
+ * 예외 타입과 HTTP 상태 코드로 오류를 분류하고, 지터가 적용된 지수 백오프 지연을 계산
+ */
+public final class GeminiErrorPolicy {
+    private static final long BASE_DELAY_MS = 500;
+    private static final long MAX_DELAY_MS = 8000;
+    // 서버가 이보다 긴 대기를 요구하면 재시도하지 않고 바로 실패 처리
+    private static final long MAX_RETRY_HINT_MS = 10000;
+
+    // 오류 본문의 "code": 429 또는 "HTTP 503" 형태
+    private static final Pattern HTTP_STATUS_PATTERN =
+            Pattern.compile("(?:code\"?\\s*:\\s*|HTTP\\s*)(4\\d\\d|5\\d\\d)\\b", Pattern.CASE_INSENSITIVE);
+    // 429 응답의 RetryInfo: "retryDelay": "37s"
+    private static final Pattern RETRY_DELAY_PATTERN =
+            Pattern.compile("retryDelay\"?\\s*:\\s*\"?(\\d+(?:\\.\\d+)?)s", Pattern.CASE_INSENSITIVE);
+    private static final Random random = new Random();
+
+    public enum ErrorType {
+        TIMEOUT(true),
+        NETWORK(true),
+        SERVER(true),        // 5xx
+        RATE_LIMITED(true),  // 429, 할당량 초과
+        AUTH(false),         // API 키 오류, 401/403
+        BLOCKED(false),      // 안전 필터에 의한 차단
+        CLIENT(false),       // 그 외 4xx
+        UNKNOWN(false);
+
+        final boolean retryable;
+
+        ErrorType(boolean retryable) {
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+
+        /**
+         * 서비스 장애로 볼 수 있는 오류인지 (서킷 브레이커 실패 카운트 대상)
+         */
+        public boolean isServiceFailure() {
+            return retryable;
+        }
+    }
+
+    private GeminiErrorPolicy() {
+    }
+
+    public static ErrorType classify(Throwable t) {
+        Throwable error = unwrap(t);
+
+        if (error instanceof TimeoutException || error instanceof SocketTimeoutException) {
+            return ErrorType.TIMEOUT;
+        }
+        if (error instanceof InvalidAPIKeyException) {
+            return ErrorType.AUTH;
+        }
+        if (error instanceof PromptBlockedException) {
+            return ErrorType.BLOCKED;
+        }
+        if (error instanceof UnknownHostException || error instanceof ConnectException) {
+            return ErrorType.NETWORK;
+        }
+
+        int status = getHttpStatus(error);
+        if (status == 429) {
+            return ErrorType.RATE_LIMITED;
+        } else if (status == 401 || status == 403) {
+            return ErrorType.AUTH;
+        } else if (status >= 500) {
+            return ErrorType.SERVER;
+        } else if (status >= 400) {
+            return ErrorType.CLIENT;
+        }
+
+        String message = getMessage(error).toLowerCase();
+        if (message.contains("resource_exhausted") || message.contains("quota")) {
+            return ErrorType.RATE_LIMITED;
+        }
+        if (message.contains("api key") || message.contains("apikey")) {
+            return ErrorType.AUTH;
+        }
+        if (error instanceof ServerException) {
+            return ErrorType.SERVER;
+        }
+        if (error instanceof InterruptedIOException || message.contains("timeout")) {
+            return ErrorType.TIMEOUT;
+        }
+        if (error instanceof IOException || message.contains("network") || message.contains("connection")) {
+            return ErrorType.NETWORK;
+        }
+        return ErrorType.UNKNOWN;
+    }
+
+    /**
+     * 재시도 지연 시간 (ms), 재시도하면 안 되는 경우 -1
+     * 지터가 적용된 지수 백오프이며 429 응답의 retryDelay 힌트가 있으면 그보다 짧게 재시도하지 않음
+     */
+    public static long getRetryDelayMs(Throwable t, int retryCount) {
+        ErrorType type = classify(t);
+        if (!type.isRetryable()) {
+            return -1;
+        }
+
+        long backoff = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(retryCount, 10));
+        long delay = backoff / 2 + (long) (random.nextDouble() * (backoff / 2));
+
+        long hint = getRetryAfterMs(t);
+        if (hint > MAX_RETRY_HINT_MS) {
+            return -1;
+        }
+        return Math.max(delay, hint);
+    }
+
+    /**
+     * 서버가 알려준 재시도 대기 시간 (ms), 없으면 0
+     */
+    public static long getRetryAfterMs(Throwable t) {
+        Matcher matcher = RETRY_DELAY_PATTERN.matcher(getMessage(unwrap(t)));
+        if (matcher.find()) {
+            try {
+                return (long) (Double.parseDouble(matcher.group(1)) * 1000);
+            } catch (NumberFormatException ignored) {
+                // 힌트 형식이 다르면 무시
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 사용자에게 보여줄 오류 메시지
+     */
+    public static String getUserMessage(Throwable t) {
+        switch (classify(t)) {
+            case TIMEOUT:
+                return "AI 응답 시간이 초과되었습니다. 인터넷 연결을 확인해주세요.";
+            case NETWORK:
+                return "네트워크 연결 오류입니다. 인터넷을 확인해주세요.";
+            case RATE_LIMITED:
+                return "API 사용량 한도에 도달했습니다. 잠시 후 다시 시도해주세요.";
+            case AUTH:
+                return "API 키가 유효하지 않습니다.";
+            case BLOCKED:
+                return "부적절한 내용으로 판단되어 응답할 수 없습니다. 다른 표현으로 말해주세요.";
+            default:
+                return "AI 응답을 받지 못했습니다. 다시 시도해주세요.";
+        }
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        Throwable error = t;
+        while (error instanceof ExecutionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private static int getHttpStatus(Throwable error) {
+        Matcher matcher = HTTP_STATUS_PATTERN.matcher(getMessage(error));
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static String getMessage(Throwable error) {
+        StringBuilder message = new StringBuilder();
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) {
+                message.append(cause.getMessage()).append(' ');
+            }
+            if (cause.getCause() == cause) break;
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,252 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini 단발성 프롬프트 응답 캐시
+ * 모델명 + 프롬프트 종류 + 정규화된 입력의 해시를 키로 사용
+ * 메모리 LRU → 디스크(앱 캐시 디렉토리, 용량 제한) 순서로 조회
+ */
+public class GeminiResponseCache {
+    private static final String TAG = "GeminiResponseCache";
+    private static final String CACHE_DIR_NAME = "gemini_responses";
+    private static final int MEMORY_MAX_ENTRIES = 100;
+    private static final long DISK_MAX_BYTES = 2 * 1024 * 1024; // 2MB
+
+    /**
+     * 프롬프트 종류별 캐시 유효 기간
+     */
+    public enum PromptType {
+        GRAMMAR(TimeUnit.DAYS.toMillis(7)),
+        VOCABULARY(TimeUnit.DAYS.toMillis(7)),
+        TURN_ANALYSIS(TimeUnit.DAYS.toMillis(7)),
+        DAILY_QUOTE(TimeUnit.MINUTES.toMillis(30));
+
+        final long ttlMs;
+
+        PromptType(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+    }
+
+    private static class Entry {
+        final String value;
+        final long expiresAt;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final File diskDir;
+    private final Map<String, Entry> memoryCache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MEMORY_MAX_ENTRIES;
+        }
+    };
+
+    private final AtomicInteger memoryHits = new AtomicInteger();
+    private final AtomicInteger diskHits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public GeminiResponseCache(Context context) {
+        this.diskDir = new File(context.getCacheDir(), CACHE_DIR_NAME);
+        if (!diskDir.exists() && !diskDir.mkdirs()) {
+            Log.w(TAG, "Failed to create cache directory");
+        }
+    }
+
+    /**
+     * 캐시 키 생성 (SHA-256)
+     * input에는 사용자 입력만이 아니라 실제로 보내는 전체 프롬프트를 넘길 것
+     * (프롬프트 템플릿이 바뀌면 키도 바뀌어 이전 형식의 응답을 재사용하지 않도록)
+     * 입력은 앞뒤 공백 제거 + 연속 공백을 하나로 정규화
+     */
+    public static String buildKey(String modelName, PromptType type, String input) {
+        String normalized = input == null ? "" : input.trim().replaceAll("\\s+", " ");
+        String raw = modelName + "\n" + type.name() + "\n" + normalized;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256은 모든 Android 기기에서 지원되지만 만약을 대비
+            return Integer.toHexString(raw.hashCode()) + "_" + raw.length();
+        }
+    }
+
+    /**
+     * 메모리 캐시 조회 (UI 스레드에서 호출해도 안전)
+     */
+    public String getFromMemory(String key) {
+        synchronized (memoryCache) {
+            Entry entry = memoryCache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                memoryCache.remove(key);
+                return null;
+            }
+            memoryHits.incrementAndGet();
+            return entry.value;
+        }
+    }
+
+    /**
+     * 디스크 캐시 조회 (백그라운드 스레드에서 호출)
+     * 히트 시 메모리 캐시로 올림
+     */
+    public String getFromDisk(String key) {
+        File file = new File(diskDir, key);
+        if (!file.exists()) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            long expiresAt = in.readLong();
+            if (expiresAt < System.currentTimeMillis()) {
+                file.delete();
+                misses.incrementAndGet();
+                return null;
+            }
+
+            byte[] data = new byte[(int) file.length() - Long.BYTES];
+            in.readFully(data);
+            String value = new String(data, StandardCharsets.UTF_8);
+
+            synchronized (memoryCache) {
+                memoryCache.put(key, new Entry(value, expiresAt));
+            }
+            file.setLastModified(System.currentTimeMillis()); // 디스크 LRU 순서 갱신
+            diskHits.incrementAndGet();
+            return value;
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to read cache entry", e);
+            file.delete();
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * 응답 저장 (디스크 쓰기가 있으므로 백그라운드 스레드에서 호출)
+     */
+    public void put(String key, PromptType type, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        long expiresAt = System.currentTimeMillis() + type.ttlMs;
+        synchronized (memoryCache) {
+            memoryCache.put(key, new Entry(value, expiresAt));
+        }
+
+        // 임시 파일에 쓴 뒤 교체 (쓰는 도중 읽거나 앱이 종료되어도 잘린 항목이 남지 않음)
+        File file = new File(diskDir, key);
+        File tempFile = new File(diskDir, key + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile))) {
+            out.writeLong(expiresAt);
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write cache entry", e);
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            Log.w(TAG, "Failed to replace cache entry");
+            tempFile.delete();
+            return;
+        }
+
+        trimDiskCache();
+    }
+
+    // 디스크 용량 초과 시 오래 사용되지 않은 항목부터 삭제
+    private void trimDiskCache() {
+        File[] files = diskDir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long totalBytes = 0;
+        for (File file : files) {
+            totalBytes += file.length();
+        }
+        if (totalBytes <= DISK_MAX_BYTES) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (totalBytes <= DISK_MAX_BYTES) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                totalBytes -= length;
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (memoryCache) {
+            memoryCache.clear();
+        }
+        File[] files = diskDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    public int getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    public int getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 전체 조회 중 캐시 히트 비율 (0.0 ~ 1.0)
+     */
+    public float getHitRate() {
+        int hits = memoryHits.get() + diskHits.get();
+        int total = hits + misses.get();
+        return total > 0 ? (float) hits / total : 0f;
+    }
+
+    public String getStats() {
+        return "memoryHits=" + memoryHits.get() + ", diskHits=" + diskHits.get()
+                + ", misses=" + misses.get() + ", hitRate=" + getHitRate();
+    }
+}
@@ -3,63 +3,131 @@ package com.cookandroid.justspeakapp.service;
 import android.content.Context;
 import android.util.Log;
 
-import com.google.ai.client.generativeai.GenerativeModel;
+import com.cookandroid.justspeakapp.model.GrammarError;
+
 import com.google.ai.client.generativeai.java.ChatFutures;
 import com.google.ai.client.generativeai.java.GenerativeModelFutures;
 import com.google.ai.client.generativeai.type.Content;
 import com.google.ai.client.generativeai.type.GenerateContentResponse;
+import com.google.ai.client.generativeai.type.Part;
+import com.google.ai.client.generativeai.type.TextPart;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class GeminiService {
     private static final String TAG = "GeminiService";
-    private static final String MODEL_NAME = "gemini-2.0-flash";
+    private static final String MODEL_NAME = GeminiClient.MODEL_NAME;
     private static final int TIMEOUT_SECONDS = 30; // API 타임아웃
     private static final int MAX_RETRIES = 2; // 최대 재시도 횟수
+    private static final int SEED_HISTORY_SIZE = 2; // 시스템 프롬프트 + 첫 인사
+    private static final int SUMMARY_BATCH_TURNS = 4; // 윈도우를 이만큼 넘으면 요약 실행 (매 턴 요약 방지)
+    private static final int CHARS_PER_TOKEN = 4; // 토큰 수 추정용 (영어 기준 대략값)
+    private static final String CIRCUIT_OPEN_MESSAGE = "AI 서비스에 일시적으로 연결할 수 없습니다. 잠시 후 다시 시도해주세요.";
 
-    private GenerativeModelFutures model;
+    private final GenerativeModelFutures model; // 앱 전체 공유 모델 (GeminiClient)
     private ChatFutures chat;
     private List<Content> history;
-    private ExecutorService executor;
-    private ScheduledExecutorService timeoutScheduler; // 타임아웃용 스케줄러 재사용
-    private String apiKey;
+    private final Executor executor; // 공유 스레드 풀 위에서 이 세션의 콜백을 순서대로 실행
+    private final ScheduledExecutorService timeoutScheduler; // 타임아웃용 스케줄러 재사용 (앱 전체 공유)
+    private final int sessionId;
     private String systemPrompt;
     private boolean isInitialized = false;
+    private final GeminiResponseCache responseCache; // 단발성 프롬프트 응답 캐시 (앱 전체 공유)
+
+    // 엔드포인트별 서킷 브레이커 (채팅 / 단발성 생성, 앱 전체 공유)
+    private final CircuitBreaker chatBreaker;
+    private final CircuitBreaker generateBreaker;
+
+    // 대화 기록 슬라이딩 윈도우 (0 = 제한 없음)
+    private int contextWindowTurns = 0;
+    private String conversationSummary;  // 윈도우 밖으로 밀려난 대화의 요약
+    private String pendingSummary;       // 다음 요청 전에 적용할 요약
+    private int pendingEvictCount = 0;   // pendingSummary가 대체하는 메시지 수
+    private boolean isSummarizing = false;
+    private int conversationGeneration = 0; // startConversation마다 증가 (이전 대화의 요약 결과 무시용)
+
+    // 진행 중인 동일 요청 공유 (single-flight): 요청 키 → 진행 중인 Future / 스트림
+    private final Map<String, ListenableFuture<GenerateContentResponse>> inFlightRequests;
+    private final Map<String, StreamFanOut> inFlightStreams = new ConcurrentHashMap<>();
+    private final AtomicInteger coalescedRequestCount;
+
+    // 음성 부분 인식 결과로 미리 시작한 응답 (최종 결과와 일치하면 그대로 사용)
+    private SpeculativeReply speculativeReply;
+    private final AtomicInteger speculativeHitCount = new AtomicInteger();
+    private final AtomicInteger speculativeMissCount = new AtomicInteger();
+
+    // 스트리밍 응답 지표 (첫 토큰까지 걸린 시간)
+    private volatile long lastTimeToFirstTokenMs = -1;
+    private long totalTimeToFirstTokenMs = 0;
+    private int streamedResponseCount = 0;
 
     public interface GeminiCallback {
         void onSuccess(String response);
         void onError(String error);
     }
 
-    public GeminiService(Context context, String apiKey) {
-        this.apiKey = apiKey;
-        this.executor = Executors.newSingleThreadExecutor();
-        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor();
-        this.history = new ArrayList<>();
-        initializeModel();
+    /**
+     * 문법 + 어휘 통합 분석 콜백
+     * onParseFailed는 응답은 받았지만 JSON 파싱에 실패한 경우 (개별 분석으로 폴백 용도)
+     */
+    public interface TurnAnalysisCallback {
+        void onSuccess(List<GrammarError> grammarErrors, List<String> vocabularySuggestions);
+        void onParseFailed();
+        void onError(String error);
     }
 
-    private void initializeModel() {
-        try {
-            // API 키는 로그에 절대 노출하지 않음 (보안)
-            Log.d(TAG, "Initializing Gemini service...");
-            GenerativeModel gm = new GenerativeModel(MODEL_NAME, apiKey);
-            model = GenerativeModelFutures.from(gm);
-            isInitialized = true;
-            Log.d(TAG, "Gemini model initialized successfully");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to initialize Gemini model: " + e.getMessage(), e);
-            isInitialized = false;
-        }
+    /**
+     * 스트리밍 응답 콜백
+     * onChunk는 새로 도착한 텍스트 조각만, onComplete는 전체 응답을 전달
+     */
+    public interface StreamCallback {
+        void onChunk(String chunk);
+        void onComplete(String fullResponse);
+        void onError(String error);
+    }
+
+    /**
+     * 대화 세션 생성
+     * 모델과 스레드는 앱 전체 공유 GeminiClient를 사용하므로 화면마다 새로 만들지 않음
+     */
+    public GeminiService(Context context, String apiKey) {
+        GeminiClient client = GeminiClient.getInstance(context, apiKey);
+        this.model = client.getModel();
+        this.executor = MoreExecutors.newSequentialExecutor(client.getCallbackExecutor());
+        this.timeoutScheduler = client.getTimeoutScheduler();
+        this.responseCache = client.getResponseCache();
+        this.chatBreaker = client.getChatBreaker();
+        this.generateBreaker = client.getGenerateBreaker();
+        this.inFlightRequests = client.getInFlightRequests();
+        this.coalescedRequestCount = client.getCoalescedRequestCounter();
+        this.sessionId = client.nextSessionId();
+        this.history = new ArrayList<>();
+        this.isInitialized = client.isInitialized();
+        Log.d(TAG, "Gemini session " + sessionId + " created (initialized: " + isInitialized + ")");
     }
 
     public boolean isInitialized() {
@@ -70,15 +138,20 @@ public class GeminiService {
         // 시나리오별 시스템 프롬프트 설정
         systemPrompt = buildSystemPrompt(scenario, userLevel);
 
+        // 이전 대화의 요약 상태 초기화
+        synchronized (this) {
+            conversationGeneration++;
+            conversationSummary = null;
+            pendingSummary = null;
+            pendingEvictCount = 0;
+            isSummarizing = false;
+        }
+
         // 채팅 세션 시작 - 시스템 프롬프트를 첫 메시지로 포함
         history.clear();
 
         // 시스템 프롬프트를 user 메시지로 추가
-        Content.Builder userBuilder = new Content.Builder();
-        userBuilder.setRole("user");
-        userBuilder.addText(systemPrompt + "\n\nPlease start the conversation with a greeting.");
-        Content systemContent = userBuilder.build();
-        history.add(systemContent);
+        history.add(buildSeedContent(null));
 
         // AI 응답을 model 메시지로 추가 (시나리오별 첫 인사)
         String initialGreeting = getInitialGreeting(scenario);
@@ -94,6 +167,164 @@ public class GeminiService {
         Log.d(TAG, "Conversation started for scenario: " + scenario + " with history size: " + history.size());
     }
 
+    // 시스템 프롬프트 메시지 (요약이 있으면 이전 대화 요약을 함께 포함)
+    private Content buildSeedContent(String summary) {
+        StringBuilder text = new StringBuilder(systemPrompt);
+        if (summary != null && !summary.isEmpty()) {
+            text.append("\nSummary of the conversation so far:\n").append(summary).append("\n");
+        }
+        text.append("\n\nPlease start the conversation with a greeting.");
+
+        Content.Builder userBuilder = new Content.Builder();
+        userBuilder.setRole("user");
+        userBuilder.addText(text.toString());
+        return userBuilder.build();
+    }
+
+    /**
+     * 대화 기록 슬라이딩 윈도우 설정
+     * 시스템 프롬프트와 최근 maxTurns 턴만 그대로 유지하고, 그 이전 대화는 요약으로 대체
+     * 0 이하이면 제한 없이 전체 기록 유지 (기존 동작)
+     */
+    public void setContextWindowTurns(int maxTurns) {
+        this.contextWindowTurns = Math.max(0, maxTurns);
+    }
+
+    /**
+     * 현재 채팅 기록의 프롬프트 토큰 수 추정값 (다음 요청에 함께 전송되는 크기)
+     */
+    public int getPromptTokenEstimate() {
+        ChatFutures currentChat = chat;
+        if (currentChat == null) {
+            return 0;
+        }
+
+        int chars = 0;
+        for (Content content : new ArrayList<>(currentChat.getChat().getHistory())) {
+            chars += getContentText(content).length();
+        }
+        return chars / CHARS_PER_TOKEN;
+    }
+
+    private String getContentText(Content content) {
+        StringBuilder text = new StringBuilder();
+        for (Part part : content.getParts()) {
+            if (part instanceof TextPart) {
+                text.append(((TextPart) part).getText());
+            }
+        }
+        return text.toString();
+    }
+
+    // 시드(시스템 프롬프트 + 첫 인사)를 제외한 실제 대화 턴
+    private List<Content> getConversationTurns() {
+        List<Content> all = new ArrayList<>(chat.getChat().getHistory());
+        if (all.size() <= SEED_HISTORY_SIZE) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(all.subList(SEED_HISTORY_SIZE, all.size()));
+    }
+
+    /**
+     * 윈도우를 넘은 오래된 턴을 백그라운드에서 요약
+     * 응답을 받은 뒤 호출되므로 사용자 응답 대기 시간에 영향을 주지 않음
+     */
+    private void maybeSummarizeHistory() {
+        if (contextWindowTurns <= 0 || chat == null || !isInitialized()) {
+            return;
+        }
+
+        List<Content> turns = getConversationTurns();
+        int keepCount = contextWindowTurns * 2; // 1턴 = user + model
+        if (turns.size() < keepCount + SUMMARY_BATCH_TURNS * 2) {
+            return;
+        }
+
+        final int evictCount = turns.size() - keepCount;
+        final int generation;
+        final String previousSummary;
+        synchronized (this) {
+            if (isSummarizing || pendingSummary != null) {
+                return;
+            }
+            isSummarizing = true;
+            generation = conversationGeneration;
+            previousSummary = conversationSummary;
+        }
+
+        StringBuilder transcript = new StringBuilder();
+        for (Content content : turns.subList(0, evictCount)) {
+            String speaker = "model".equals(content.getRole()) ? "Teacher" : "Student";
+            transcript.append(speaker).append(": ").append(getContentText(content)).append("\n");
+        }
+
+        String summaryPrompt = "Summarize this English lesson conversation between a teacher and a Korean student " +
+                "in 3-5 short sentences. Keep topics discussed, facts the student shared about themselves, " +
+                "and recurring mistakes.\n\n" +
+                (previousSummary != null ? "Earlier summary:\n" + previousSummary + "\n\n" : "") +
+                "Conversation:\n" + transcript;
+
+        Content content = new Content.Builder()
+                .addText(summaryPrompt)
+                .build();
+
+        ListenableFuture<GenerateContentResponse> response = Futures.withTimeout(
+                model.generateContent(content), TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
+        );
+
+        Futures.addCallback(response, new FutureCallback<GenerateContentResponse>() {
+            @Override
+            public void onSuccess(GenerateContentResponse result) {
+                String text = result.getText();
+                synchronized (GeminiService.this) {
+                    isSummarizing = false;
+                    if (generation != conversationGeneration || text == null || text.trim().isEmpty()) {
+                        return;
+                    }
+                    pendingSummary = text.trim();
+                    pendingEvictCount = evictCount;
+                }
+                Log.d(TAG, "History summary ready - replacing " + evictCount + " messages");
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                Log.w(TAG, "Failed to summarize history - will retry on next turn", t);
+                synchronized (GeminiService.this) {
+                    isSummarizing = false;
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * 준비된 요약을 채팅 기록에 적용 (요청 전송 직전, 진행 중인 요청이 없을 때 호출)
+     */
+    private synchronized void applyPendingSummary() {
+        if (pendingSummary == null || chat == null) {
+            return;
+        }
+
+        List<Content> turns = getConversationTurns();
+        if (turns.size() >= pendingEvictCount) {
+            conversationSummary = pendingSummary;
+
+            history.clear();
+            history.add(buildSeedContent(conversationSummary));
+            history.add(new ArrayList<>(chat.getChat().getHistory()).get(1)); // 첫 인사 유지
+
+            List<Content> newHistory = new ArrayList<>(history);
+            newHistory.addAll(turns.subList(pendingEvictCount, turns.size()));
+            chat = model.startChat(newHistory);
+
+            Log.d(TAG, "History compacted - messages: " + newHistory.size()
+                    + ", estimated tokens: " + getPromptTokenEstimate());
+        }
+
+        pendingSummary = null;
+        pendingEvictCount = 0;
+    }
+
     private String buildSystemPrompt(String scenario, String userLevel) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("You are an English conversation teacher for Korean students. ");
@@ -301,6 +532,15 @@ public class GeminiService {
             return;
         }
 
+        // 서킷이 열려 있으면 요청하지 않고 바로 실패 처리
+        if (!chatBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
+        // 준비된 대화 요약이 있으면 전송 전에 적용
+        applyPendingSummary();
+
         // 사용자 메시지를 user role로 생성
         Content.Builder contentBuilder = new Content.Builder();
         contentBuilder.setRole("user");
@@ -308,65 +548,466 @@ public class GeminiService {
         Content content = contentBuilder.build();
 
         Log.d(TAG, "Sending user message: " + userMessage);
-        ListenableFuture<GenerateContentResponse> response = chat.sendMessage(content);
+        final ChatFutures currentChat = chat;
+        ListenableFuture<GenerateContentResponse> response = singleFlight(
+                getChatFlightKey(userMessage), () -> currentChat.sendMessage(content));
 
-        // 타임아웃 적용 (재사용되는 스케줄러 사용)
+        // 타임아웃 적용 (재사용되는 스케줄러 사용, 공유 요청은 취소되지 않도록 분리)
         ListenableFuture<GenerateContentResponse> timeoutFuture = Futures.withTimeout(
-                response, TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
+                Futures.nonCancellationPropagating(response), TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
         );
 
         Futures.addCallback(timeoutFuture, new FutureCallback<GenerateContentResponse>() {
             @Override
             public void onSuccess(GenerateContentResponse result) {
+                chatBreaker.recordSuccess();
                 String text = result.getText();
                 if (text != null && !text.isEmpty()) {
                     callback.onSuccess(text.trim());
                 } else {
                     callback.onError("AI 응답이 비어있습니다.");
                 }
+                maybeSummarizeHistory();
             }
 
             @Override
             public void onFailure(Throwable t) {
                 Log.e(TAG, "Error getting AI response (attempt " + (retryCount + 1) + ")", t);
-
-                // 재시도 가능 여부 확인
-                if (retryCount < MAX_RETRIES && isRetryableError(t)) {
-                    Log.d(TAG, "Retrying... attempt " + (retryCount + 2));
-                    sendMessageWithRetry(userMessage, callback, retryCount + 1);
+                recordFailure(chatBreaker, t);
+
+                // 재시도 가능 여부 확인 (지터가 적용된 지수 백오프)
+                long delayMs = GeminiErrorPolicy.getRetryDelayMs(t, retryCount);
+                if (retryCount < MAX_RETRIES && delayMs >= 0 && !chatBreaker.isOpen()) {
+                    Log.d(TAG, "Retrying in " + delayMs + "ms... attempt " + (retryCount + 2));
+                    scheduleRetry(() -> sendMessageWithRetry(userMessage, callback, retryCount + 1), delayMs,
+                            () -> callback.onError(GeminiErrorPolicy.getUserMessage(t)));
                 } else {
                     // 사용자 친화적인 에러 메시지
-                    String errorMsg = getErrorMessage(t);
-                    callback.onError(errorMsg);
+                    callback.onError(GeminiErrorPolicy.getUserMessage(t));
                 }
             }
         }, executor);
     }
 
-    private boolean isRetryableError(Throwable t) {
-        // 타임아웃, 네트워크 오류는 재시도 가능
-        return t instanceof TimeoutException ||
-               t.getMessage() != null && (
-                   t.getMessage().contains("timeout") ||
-                   t.getMessage().contains("network") ||
-                   t.getMessage().contains("connection")
-               );
+    /**
+     * 스트리밍 방식 메시지 전송
+     * 응답 전체를 기다리지 않고 도착하는 텍스트 조각을 바로 전달하여 첫 단어 표시 지연을 줄임
+     */
+    public void sendMessageStream(String userMessage, StreamCallback callback) {
+        if (!isInitialized()) {
+            callback.onError("AI 서비스가 초기화되지 않았습니다. 인터넷 연결을 확인해주세요.");
+            return;
+        }
+
+        if (chat == null) {
+            callback.onError("대화가 시작되지 않았습니다. 다시 시도해주세요.");
+            return;
+        }
+
+        // 서킷이 열려 있으면 요청하지 않고 바로 실패 처리
+        if (!chatBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
+        // 동일한 메시지가 이미 스트리밍 중이면 같은 스트림을 공유
+        String flightKey = getChatFlightKey(userMessage);
+        StreamFanOut fanOut;
+        synchronized (inFlightStreams) {
+            StreamFanOut existing = inFlightStreams.get(flightKey);
+            if (existing != null) {
+                int coalesced = coalescedRequestCount.incrementAndGet();
+                Log.d(TAG, "Coalesced duplicate streaming request (total coalesced: " + coalesced + ")");
+                existing.addCallback(callback);
+                return;
+            }
+            fanOut = new StreamFanOut(flightKey, callback);
+            inFlightStreams.put(flightKey, fanOut);
+        }
+
+        // 준비된 대화 요약이 있으면 전송 전에 적용
+        applyPendingSummary();
+
+        Content.Builder contentBuilder = new Content.Builder();
+        contentBuilder.setRole("user");
+        contentBuilder.addText(userMessage);
+        Content content = contentBuilder.build();
+
+        Log.d(TAG, "Streaming user message: " + userMessage);
+        final long requestStartTime = System.currentTimeMillis();
+        Publisher<GenerateContentResponse> publisher = chat.sendMessageStream(content);
+
+        publisher.subscribe(new Subscriber<GenerateContentResponse>() {
+            private final StringBuilder fullText = new StringBuilder();
+            private final AtomicBoolean finished = new AtomicBoolean(false);
+            private Subscription subscription;
+            private ScheduledFuture<?> timeoutTask;
+            private boolean firstTokenReceived = false;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                // 전체 스트림에 타임아웃 적용 (재사용되는 스케줄러 사용)
+                timeoutTask = timeoutScheduler.schedule(() -> {
+                    if (finished.compareAndSet(false, true)) {
+                        Log.e(TAG, "Streaming response timed out");
+                        subscription.cancel();
+                        TimeoutException timeout = new TimeoutException();
+                        recordFailure(chatBreaker, timeout);
+                        executor.execute(() -> fanOut.onError(GeminiErrorPolicy.getUserMessage(timeout)));
+                    }
+                }, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(GenerateContentResponse response) {
+                if (finished.get()) return;
+                String chunk = response.getText();
+                if (chunk == null || chunk.isEmpty()) return;
+
+                if (!firstTokenReceived) {
+                    firstTokenReceived = true;
+                    recordTimeToFirstToken(System.currentTimeMillis() - requestStartTime);
+                }
+
+                fullText.append(chunk);
+                executor.execute(() -> fanOut.onChunk(chunk));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!finished.compareAndSet(false, true)) return;
+                if (timeoutTask != null) timeoutTask.cancel(false);
+                Log.e(TAG, "Error streaming AI response", t);
+                recordFailure(chatBreaker, t);
+                String errorMsg = GeminiErrorPolicy.getUserMessage(t);
+                executor.execute(() -> fanOut.onError(errorMsg));
+            }
+
+            @Override
+            public void onComplete() {
+                if (!finished.compareAndSet(false, true)) return;
+                if (timeoutTask != null) timeoutTask.cancel(false);
+                chatBreaker.recordSuccess();
+                String text = fullText.toString().trim();
+                Log.d(TAG, "Streaming completed in " + (System.currentTimeMillis() - requestStartTime) + "ms");
+                executor.execute(() -> {
+                    if (!text.isEmpty()) {
+                        fanOut.onComplete(text);
+                    } else {
+                        fanOut.onError("AI 응답이 비어있습니다.");
+                    }
+                    maybeSummarizeHistory();
+                });
+            }
+        });
+    }
+
+    /**
+     * 하나의 스트림 결과를 공유 중인 모든 콜백에 전달
+     * 늦게 합류한 콜백은 그동안 받은 텍스트를 먼저 한 번에 받음
+     */
+    private class StreamFanOut implements StreamCallback {
+        private final String flightKey;
+        private final List<StreamCallback> callbacks = new ArrayList<>();
+        private final StringBuilder received = new StringBuilder();
+
+        StreamFanOut(String flightKey, StreamCallback callback) {
+            this.flightKey = flightKey;
+            this.callbacks.add(callback);
+        }
+
+        synchronized void addCallback(StreamCallback callback) {
+            if (received.length() > 0) {
+                callback.onChunk(received.toString());
+            }
+            callbacks.add(callback);
+        }
+
+        @Override
+        public synchronized void onChunk(String chunk) {
+            received.append(chunk);
+            for (StreamCallback callback : callbacks) {
+                callback.onChunk(chunk);
+            }
+        }
+
+        @Override
+        public void onComplete(String fullResponse) {
+            for (StreamCallback callback : finish()) {
+                callback.onComplete(fullResponse);
+            }
+        }
+
+        @Override
+        public void onError(String error) {
+            for (StreamCallback callback : finish()) {
+                callback.onError(error);
+            }
+        }
+
+        // 진행 중 목록에서 제거 (이후 같은 요청은 새로 전송됨)
+        private List<StreamCallback> finish() {
+            synchronized (inFlightStreams) {
+                inFlightStreams.remove(flightKey, this);
+            }
+            synchronized (this) {
+                return new ArrayList<>(callbacks);
+            }
+        }
+    }
+
+    /**
+     * 동일한 키의 요청이 진행 중이면 그 Future를 공유하고, 없으면 새로 요청
+     * 완료되면 목록에서 제거되므로 재시도는 새 요청으로 전송됨
+     */
+    private ListenableFuture<GenerateContentResponse> singleFlight(
+            String flightKey, Supplier<ListenableFuture<GenerateContentResponse>> request) {
+        synchronized (inFlightRequests) {
+            ListenableFuture<GenerateContentResponse> existing = inFlightRequests.get(flightKey);
+            if (existing != null) {
+                int coalesced = coalescedRequestCount.incrementAndGet();
+                Log.d(TAG, "Coalesced duplicate request (total coalesced: " + coalesced + ")");
+                return existing;
+            }
+
+            ListenableFuture<GenerateContentResponse> future = request.get();
+            inFlightRequests.put(flightKey, future);
+            future.addListener(() -> inFlightRequests.remove(flightKey, future), MoreExecutors.directExecutor());
+            return future;
+        }
+    }
+
+    // 채팅 요청 키 (대화 세션이 바뀌면 다른 요청으로 취급)
+    private String getChatFlightKey(String userMessage) {
+        return "chat:" + sessionId + ":" + conversationGeneration + ":" + userMessage.trim();
+    }
+
+    /**
+     * 진행 중인 동일 요청에 합류하여 네트워크 호출을 생략한 횟수
+     */
+    public int getCoalescedRequestCount() {
+        return coalescedRequestCount.get();
+    }
+
+    private static class SpeculativeReply {
+        final String normalizedText;
+        final ChatFutures chat;
+        final ListenableFuture<GenerateContentResponse> future;
+
+        SpeculativeReply(String normalizedText, ChatFutures chat,
+                         ListenableFuture<GenerateContentResponse> future) {
+            this.normalizedText = normalizedText;
+            this.chat = chat;
+            this.future = future;
+        }
+    }
+
+    /**
+     * 음성 부분 인식 결과로 응답 생성을 미리 시작
+     * 채팅 기록에는 반영하지 않는 별도 요청이며, 최종 인식 결과가 같으면 trySendSpeculative로 확정
+     * 다른 부분 결과로 다시 호출되면 이전 요청은 취소하고 새로 시작
+     * 일반 요청과 같이 서킷 브레이커(allowRequest)와 중복 요청 합치기(singleFlight)를 거침
+     */
+    public synchronized void startSpeculativeReply(String partialText) {
+        if (!isInitialized() || chat == null || partialText == null) {
+            return;
+        }
+
+        String normalized = normalizeTranscript(partialText);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        if (speculativeReply != null && speculativeReply.normalizedText.equals(normalized)) {
+            return;
+        }
+        cancelSpeculativeReply();
+
+        // 서킷이 열려 있거나 HALF_OPEN 시험 요청이 이미 진행 중이면 추측 요청을 보내지 않음
+        if (!chatBreaker.allowRequest()) {
+            return;
+        }
+
+        // 준비된 대화 요약이 있으면 먼저 적용 (확정 시 같은 채팅 기록을 기준으로 해야 하므로)
+        applyPendingSummary();
+
+        Content.Builder contentBuilder = new Content.Builder();
+        contentBuilder.setRole("user");
+        contentBuilder.addText(partialText);
+
+        List<Content> contents = new ArrayList<>(chat.getChat().getHistory());
+        contents.add(contentBuilder.build());
+
+        Log.d(TAG, "Starting speculative reply for: " + partialText);
+        ListenableFuture<GenerateContentResponse> future = singleFlight(
+                getSpeculativeFlightKey(normalized),
+                () -> model.generateContent(contents.toArray(new Content[0])));
+        speculativeReply = new SpeculativeReply(normalized, chat, future);
+    }
+
+    // 추측 요청 키 (일반 채팅 요청과는 합치지 않음 - 취소될 수 있으므로)
+    private String getSpeculativeFlightKey(String normalizedText) {
+        return "speculative:" + sessionId + ":" + conversationGeneration + ":" + normalizedText;
+    }
+
+    /**
+     * 진행 중인 추측 응답 취소 (인식 실패, 듣기 중지 등)
+     */
+    public synchronized void cancelSpeculativeReply() {
+        if (speculativeReply != null) {
+            discardSpeculativeReply(speculativeReply);
+            speculativeReply = null;
+        }
     }
 
-    private String getErrorMessage(Throwable t) {
-        if (t instanceof TimeoutException) {
-            return "AI 응답 시간이 초과되었습니다. 인터넷 연결을 확인해주세요.";
-        } else if (t.getMessage() != null) {
-            String msg = t.getMessage().toLowerCase();
-            if (msg.contains("api key") || msg.contains("apikey")) {
-                return "API 키가 유효하지 않습니다.";
-            } else if (msg.contains("quota") || msg.contains("limit")) {
-                return "API 사용량 한도에 도달했습니다. 잠시 후 다시 시도해주세요.";
-            } else if (msg.contains("network") || msg.contains("connection")) {
-                return "네트워크 연결 오류입니다. 인터넷을 확인해주세요.";
+    // 버린 추측 응답은 결과와 상관없이 브레이커에 기록되지 않으므로 HALF_OPEN 시험 요청 슬롯을 반납
+    // (이미 완료된 뒤 버려도 반납해야 함 - 그렇지 않으면 시험 요청이 끝나지 않은 것으로 남아 서킷이 계속 닫히지 않음)
+    private void discardSpeculativeReply(SpeculativeReply reply) {
+        reply.future.cancel(true);
+        chatBreaker.recordIgnored();
+    }
+
+    /**
+     * 최종 인식 결과가 추측 응답의 입력과 같으면 그 응답을 사용
+     * 사용했으면 true, 일치하지 않아 취소했으면 false (이 경우 sendMessageStream으로 새로 요청)
+     */
+    public boolean trySendSpeculative(String finalText, StreamCallback callback) {
+        SpeculativeReply reply;
+        synchronized (this) {
+            reply = speculativeReply;
+            speculativeReply = null;
+        }
+        if (reply == null) {
+            return false;
+        }
+
+        if (reply.chat != chat || !reply.normalizedText.equals(normalizeTranscript(finalText))) {
+            discardSpeculativeReply(reply);
+            int misses = speculativeMissCount.incrementAndGet();
+            Log.d(TAG, "Speculative reply discarded - transcript diverged (misses: " + misses + ")");
+            return false;
+        }
+
+        int hits = speculativeHitCount.incrementAndGet();
+        Log.d(TAG, "Using speculative reply (hits: " + hits + ")");
+
+        ListenableFuture<GenerateContentResponse> timeoutFuture = Futures.withTimeout(
+                reply.future, TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
+        );
+
+        Futures.addCallback(timeoutFuture, new FutureCallback<GenerateContentResponse>() {
+            @Override
+            public void onSuccess(GenerateContentResponse result) {
+                chatBreaker.recordSuccess();
+                String text = result.getText();
+                if (text == null || text.trim().isEmpty()) {
+                    callback.onError("AI 응답이 비어있습니다.");
+                    return;
+                }
+
+                // 채팅 기록에 확정 (SDK 기록 목록을 직접 바꾸지 않고, 복사한 기록에
+                // 최종 인식 결과와 응답을 더해 채팅을 다시 시작 - applyPendingSummary와 같은 방식)
+                Content.Builder userBuilder = new Content.Builder();
+                userBuilder.setRole("user");
+                userBuilder.addText(finalText);
+                Content.Builder modelBuilder = new Content.Builder();
+                modelBuilder.setRole("model");
+                modelBuilder.addText(text.trim());
+                synchronized (GeminiService.this) {
+                    if (reply.chat == chat) {
+                        List<Content> newHistory = new ArrayList<>(reply.chat.getChat().getHistory());
+                        newHistory.add(userBuilder.build());
+                        newHistory.add(modelBuilder.build());
+                        chat = model.startChat(newHistory);
+                    }
+                }
+
+                callback.onChunk(text.trim());
+                callback.onComplete(text.trim());
+                maybeSummarizeHistory();
             }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // 추측 요청 실패 시 일반 스트리밍 요청으로 다시 시도
+                Log.w(TAG, "Speculative reply failed - falling back to normal request", t);
+                recordFailure(chatBreaker, t);
+                sendMessageStream(finalText, callback);
+            }
+        }, executor);
+        return true;
+    }
+
+    // 인식 결과 비교용 정규화 (대소문자, 문장부호, 공백 차이 무시)
+    private static String normalizeTranscript(String text) {
+        return text.toLowerCase()
+                .replaceAll("[^a-z0-9' ]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * 추측 응답을 그대로 사용한 횟수 / 최종 결과가 달라 버린 횟수
+     */
+    public int getSpeculativeHitCount() {
+        return speculativeHitCount.get();
+    }
+
+    public int getSpeculativeMissCount() {
+        return speculativeMissCount.get();
+    }
+
+    private synchronized void recordTimeToFirstToken(long elapsedMs) {
+        lastTimeToFirstTokenMs = elapsedMs;
+        totalTimeToFirstTokenMs += elapsedMs;
+        streamedResponseCount++;
+        Log.d(TAG, "Time to first token: " + elapsedMs + "ms (avg: "
+                + (totalTimeToFirstTokenMs / streamedResponseCount) + "ms)");
+    }
+
+    /**
+     * 마지막 스트리밍 응답의 첫 토큰 도착 시간 (ms), 측정값이 없으면 -1
+     */
+    public long getLastTimeToFirstTokenMs() {
+        return lastTimeToFirstTokenMs;
+    }
+
+    /**
+     * 스트리밍 응답들의 평균 첫 토큰 도착 시간 (ms), 측정값이 없으면 -1
+     */
+    public synchronized long getAverageTimeToFirstTokenMs() {
+        return streamedResponseCount > 0 ? totalTimeToFirstTokenMs / streamedResponseCount : -1;
+    }
+
+    // 서비스 장애성 오류만 서킷 브레이커 실패로 기록 (잘못된 요청 등은 제외)
+    private void recordFailure(CircuitBreaker breaker, Throwable t) {
+        if (GeminiErrorPolicy.classify(t).isServiceFailure()) {
+            breaker.recordFailure(GeminiErrorPolicy.getRetryAfterMs(t));
+        } else {
+            breaker.recordIgnored();
         }
-        return "AI 응답을 받지 못했습니다. 다시 시도해주세요.";
+    }
+
+    // 재시도를 즉시 실행하지 않고 백오프 지연 후 실행 (재사용되는 스케줄러 사용)
+    private void scheduleRetry(Runnable retry, long delayMs, Runnable onRejected) {
+        if (!isInitialized) {
+            // 세션이 종료된 경우 재시도하지 않음
+            onRejected.run();
+            return;
+        }
+        try {
+            timeoutScheduler.schedule(retry, delayMs, TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            onRejected.run();
+        }
+    }
+
+    /**
+     * 채팅 서킷이 열려 있는지 (열려 있으면 요청이 즉시 실패하므로 오프라인 응답 사용)
+     */
+    public boolean isChatCircuitOpen() {
+        return chatBreaker.isOpen();
     }
 
     public void analyzeGrammar(String userText, GeminiCallback callback) {
@@ -377,18 +1018,30 @@ public class GeminiService {
                 "- If correct: 'Good job! Your grammar is correct.'\n" +
                 "- If errors: List 1-2 main errors only, very briefly.";
 
+        String cacheKey = GeminiResponseCache.buildKey(MODEL_NAME, GeminiResponseCache.PromptType.GRAMMAR, grammarPrompt);
+        lookupCache(cacheKey, callback::onSuccess, () -> requestGrammarAnalysis(grammarPrompt, cacheKey, callback));
+    }
+
+    private void requestGrammarAnalysis(String grammarPrompt, String cacheKey, GeminiCallback callback) {
+        if (!generateBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
         // String을 Content로 변환
         Content content = new Content.Builder()
                 .addText(grammarPrompt)
                 .build();
 
-        ListenableFuture<GenerateContentResponse> response = model.generateContent(content);
+        ListenableFuture<GenerateContentResponse> response = singleFlight(cacheKey, () -> model.generateContent(content));
 
         Futures.addCallback(response, new FutureCallback<GenerateContentResponse>() {
             @Override
             public void onSuccess(GenerateContentResponse result) {
                 String text = result.getText();
+                generateBreaker.recordSuccess();
                 if (text != null && !text.isEmpty()) {
+                    responseCache.put(cacheKey, GeminiResponseCache.PromptType.GRAMMAR, text.trim());
                     callback.onSuccess(text.trim());
                 } else {
                     callback.onError("Empty grammar analysis");
@@ -398,6 +1051,7 @@ public class GeminiService {
             @Override
             public void onFailure(Throwable t) {
                 Log.e(TAG, "Error analyzing grammar", t);
+                recordFailure(generateBreaker, t);
                 callback.onError("Failed to analyze grammar: " + t.getMessage());
             }
         }, executor);
@@ -408,18 +1062,30 @@ public class GeminiService {
                 "\"" + userText + "\"\n\n" +
                 "Keep suggestions brief and practical.";
 
+        String cacheKey = GeminiResponseCache.buildKey(MODEL_NAME, GeminiResponseCache.PromptType.VOCABULARY, vocabPrompt);
+        lookupCache(cacheKey, callback::onSuccess, () -> requestVocabularySuggestions(vocabPrompt, cacheKey, callback));
+    }
+
+    private void requestVocabularySuggestions(String vocabPrompt, String cacheKey, GeminiCallback callback) {
+        if (!generateBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
         // String을 Content로 변환
         Content content = new Content.Builder()
                 .addText(vocabPrompt)
                 .build();
 
-        ListenableFuture<GenerateContentResponse> response = model.generateContent(content);
+        ListenableFuture<GenerateContentResponse> response = singleFlight(cacheKey, () -> model.generateContent(content));
 
         Futures.addCallback(response, new FutureCallback<GenerateContentResponse>() {
             @Override
             public void onSuccess(GenerateContentResponse result) {
                 String text = result.getText();
+                generateBreaker.recordSuccess();
                 if (text != null && !text.isEmpty()) {
+                    responseCache.put(cacheKey, GeminiResponseCache.PromptType.VOCABULARY, text.trim());
                     callback.onSuccess(text.trim());
                 } else {
                     callback.onError("Empty vocabulary suggestions");
@@ -429,36 +1095,232 @@ public class GeminiService {
             @Override
             public void onFailure(Throwable t) {
                 Log.e(TAG, "Error getting vocabulary suggestions", t);
+                recordFailure(generateBreaker, t);
                 callback.onError("Failed to get suggestions: " + t.getMessage());
             }
         }, executor);
     }
 
+    /**
+     * 문법 분석과 어휘 제안을 한 번의 요청으로 처리
+     * analyzeGrammar + getVocabularySuggestions 두 번의 호출을 대체하여 턴당 API 호출 수를 줄임
+     */
+    public void analyzeTurn(String userText, TurnAnalysisCallback callback) {
+        if (!isInitialized()) {
+            callback.onError("AI 서비스가 초기화되지 않았습니다. 인터넷 연결을 확인해주세요.");
+            return;
+        }
+
+        String analysisPrompt = "Analyze this English sentence written by a Korean student.\n\n" +
+                "Sentence: \"" + userText + "\"\n\n" +
+                "Respond with ONLY a JSON object (no markdown, no extra text) in this format:\n" +
+                "{\n" +
+                "  \"grammar_errors\": [\n" +
+                "    {\"type\": \"error type (tense, article, ...)\", \"incorrect\": \"wrong part\", " +
+                "\"corrected\": \"corrected part\", \"explanation\": \"very brief explanation\"}\n" +
+                "  ],\n" +
+                "  \"vocabulary\": [\"alternative word or phrase with a brief note\"]\n" +
+                "}\n\n" +
+                "Rules:\n" +
+                "- List 1-2 main grammar errors only. Use an empty array if the grammar is correct.\n" +
+                "- Suggest 2-3 alternative words or phrases to sound more natural or advanced.";
+
+        String cacheKey = GeminiResponseCache.buildKey(MODEL_NAME, GeminiResponseCache.PromptType.TURN_ANALYSIS, analysisPrompt);
+        lookupCache(cacheKey,
+                cached -> parseTurnAnalysis(cached, callback),
+                () -> requestTurnAnalysis(analysisPrompt, cacheKey, callback));
+    }
+
+    private void requestTurnAnalysis(String analysisPrompt, String cacheKey, TurnAnalysisCallback callback) {
+        if (!generateBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
+        Content content = new Content.Builder()
+                .addText(analysisPrompt)
+                .build();
+
+        ListenableFuture<GenerateContentResponse> shared = singleFlight(cacheKey, () -> model.generateContent(content));
+        ListenableFuture<GenerateContentResponse> response = Futures.withTimeout(
+                Futures.nonCancellationPropagating(shared), TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
+        );
+
+        Futures.addCallback(response, new FutureCallback<GenerateContentResponse>() {
+            @Override
+            public void onSuccess(GenerateContentResponse result) {
+                generateBreaker.recordSuccess();
+                String text = result.getText();
+                if (text == null || text.isEmpty()) {
+                    callback.onParseFailed();
+                    return;
+                }
+
+                // 파싱에 성공한 응답만 캐시
+                if (parseTurnAnalysis(text, callback)) {
+                    responseCache.put(cacheKey, GeminiResponseCache.PromptType.TURN_ANALYSIS, text);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                Log.e(TAG, "Error analyzing turn", t);
+                recordFailure(generateBreaker, t);
+                callback.onError(GeminiErrorPolicy.getUserMessage(t));
+            }
+        }, executor);
+    }
+
+    // 통합 분석 JSON 파싱 후 콜백 전달, 파싱 성공 여부 반환
+    private boolean parseTurnAnalysis(String text, TurnAnalysisCallback callback) {
+        List<GrammarError> grammarErrors = new ArrayList<>();
+        List<String> vocabulary = new ArrayList<>();
+
+        try {
+            JSONObject json = new JSONObject(extractJson(text));
+
+            JSONArray errorsArray = json.optJSONArray("grammar_errors");
+            if (errorsArray != null) {
+                for (int i = 0; i < errorsArray.length(); i++) {
+                    JSONObject error = errorsArray.getJSONObject(i);
+                    grammarErrors.add(new GrammarError(
+                            error.optString("type"),
+                            error.optString("incorrect"),
+                            error.optString("corrected"),
+                            error.optString("explanation")));
+                }
+            }
+
+            JSONArray vocabArray = json.optJSONArray("vocabulary");
+            if (vocabArray != null) {
+                for (int i = 0; i < vocabArray.length(); i++) {
+                    String suggestion = vocabArray.optString(i).trim();
+                    if (!suggestion.isEmpty()) {
+                        vocabulary.add(suggestion);
+                    }
+                }
+            }
+        } catch (JSONException e) {
+            Log.w(TAG, "Failed to parse turn analysis JSON: " + text, e);
+            callback.onParseFailed();
+            return false;
+        }
+
+        callback.onSuccess(grammarErrors, vocabulary);
+        return true;
+    }
+
+    // 모델이 ```json ... ``` 형태로 감싸서 응답하는 경우 JSON 부분만 추출
+    private String extractJson(String text) {
+        int start = text.indexOf('{');
+        int end = text.lastIndexOf('}');
+        if (start >= 0 && end > start) {
+            return text.substring(start, end + 1);
+        }
+        return text;
+    }
+
+    /**
+     * 단발성 프롬프트 응답 생성 (캐시 사용 안 함)
+     * 퀴즈 생성, 레벨 테스트 대화처럼 매번 다른 응답이 필요한 프롬프트용
+     */
     public void generateText(String prompt, GeminiCallback callback) {
-        generateTextWithRetry(prompt, callback, 0);
+        if (!isInitialized()) {
+            callback.onError("AI 서비스가 초기화되지 않았습니다. 인터넷 연결을 확인해주세요.");
+            return;
+        }
+
+        generateTextWithRetry(prompt, "text:" + prompt.trim(), callback, 0);
     }
 
-    private void generateTextWithRetry(String prompt, GeminiCallback callback, int retryCount) {
+    /**
+     * 캐시해도 되는 단발성 프롬프트 응답 생성 (예: 오늘의 문구)
+     * isValid를 통과한 응답만 캐시에 저장하므로 형식이 잘못된 응답은 다시 사용되지 않음
+     */
+    public void generateCachedText(String prompt, GeminiResponseCache.PromptType type,
+                                   Predicate<String> isValid, GeminiCallback callback) {
         if (!isInitialized()) {
             callback.onError("AI 서비스가 초기화되지 않았습니다. 인터넷 연결을 확인해주세요.");
             return;
         }
 
+        String cacheKey = GeminiResponseCache.buildKey(MODEL_NAME, type, prompt);
+        lookupCache(cacheKey, callback::onSuccess, () -> generateTextWithRetry(prompt, cacheKey, new GeminiCallback() {
+            @Override
+            public void onSuccess(String response) {
+                if (isValid.test(response)) {
+                    responseCache.put(cacheKey, type, response);
+                } else {
+                    Log.w(TAG, "Not caching response that failed validation");
+                }
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        }, 0));
+    }
+
+    /**
+     * 캐시 조회 후 없으면 onMiss 실행
+     * 메모리 히트는 즉시 반환, 디스크 조회와 네트워크 요청은 백그라운드 스레드에서 진행
+     */
+    private void lookupCache(String cacheKey, Consumer<String> onHit, Runnable onMiss) {
+        String cached = responseCache.getFromMemory(cacheKey);
+        if (cached != null) {
+            Log.d(TAG, "Response cache hit (memory) - " + responseCache.getStats());
+            onHit.accept(cached);
+            return;
+        }
+
+        executor.execute(() -> {
+            String diskCached = responseCache.getFromDisk(cacheKey);
+            if (diskCached != null) {
+                Log.d(TAG, "Response cache hit (disk) - " + responseCache.getStats());
+                onHit.accept(diskCached);
+            } else {
+                onMiss.run();
+            }
+        });
+    }
+
+    /**
+     * 응답 캐시 (히트/미스 통계 확인용)
+     */
+    public GeminiResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    private void generateTextWithRetry(String prompt, String flightKey, GeminiCallback callback, int retryCount) {
+        if (!isInitialized()) {
+            callback.onError("AI 서비스가 초기화되지 않았습니다. 인터넷 연결을 확인해주세요.");
+            return;
+        }
+
+        // 서킷이 열려 있으면 요청하지 않고 바로 실패 처리
+        if (!generateBreaker.allowRequest()) {
+            callback.onError(CIRCUIT_OPEN_MESSAGE);
+            return;
+        }
+
         // String을 Content로 변환
         Content content = new Content.Builder()
                 .addText(prompt)
                 .build();
 
-        ListenableFuture<GenerateContentResponse> response = model.generateContent(content);
+        ListenableFuture<GenerateContentResponse> response = singleFlight(flightKey, () -> model.generateContent(content));
 
-        // 타임아웃 적용 (재사용되는 스케줄러 사용)
+        // 타임아웃 적용 (재사용되는 스케줄러 사용, 공유 요청은 취소되지 않도록 분리)
         ListenableFuture<GenerateContentResponse> timeoutFuture = Futures.withTimeout(
-                response, TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
+                Futures.nonCancellationPropagating(response), TIMEOUT_SECONDS, TimeUnit.SECONDS, timeoutScheduler
         );
 
         Futures.addCallback(timeoutFuture, new FutureCallback<GenerateContentResponse>() {
             @Override
             public void onSuccess(GenerateContentResponse result) {
+                generateBreaker.recordSuccess();
                 String text = result.getText();
                 if (text != null && !text.isEmpty()) {
                     callback.onSuccess(text.trim());
@@ -470,51 +1332,32 @@ public class GeminiService {
             @Override
             public void onFailure(Throwable t) {
                 Log.e(TAG, "Error generating text (attempt " + (retryCount + 1) + ")", t);
-
-                // 재시도 가능 여부 확인
-                if (retryCount < MAX_RETRIES && isRetryableError(t)) {
-                    Log.d(TAG, "Retrying generateText... attempt " + (retryCount + 2));
-                    generateTextWithRetry(prompt, callback, retryCount + 1);
+                recordFailure(generateBreaker, t);
+
+                // 재시도 가능 여부 확인 (지터가 적용된 지수 백오프)
+                long delayMs = GeminiErrorPolicy.getRetryDelayMs(t, retryCount);
+                if (retryCount < MAX_RETRIES && delayMs >= 0 && !generateBreaker.isOpen()) {
+                    Log.d(TAG, "Retrying generateText in " + delayMs + "ms... attempt " + (retryCount + 2));
+                    scheduleRetry(() -> generateTextWithRetry(prompt, flightKey, callback, retryCount + 1), delayMs,
+                            () -> callback.onError(GeminiErrorPolicy.getUserMessage(t)));
                 } else {
-                    String errorMsg = getErrorMessage(t);
-                    callback.onError(errorMsg);
+                    callback.onError(GeminiErrorPolicy.getUserMessage(t));
                 }
             }
         }, executor);
     }
 
+    /**
+     * 대화 세션 종료
+     * 공유 모델과 스레드 풀은 다른 화면에서 계속 사용하므로 종료하지 않음
+     */
     public void shutdown() {
-        // ExecutorService 적절히 종료
-        if (executor != null) {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-            }
-            executor = null;
-        }
-
-        // ScheduledExecutorService 적절히 종료
-        if (timeoutScheduler != null) {
-            timeoutScheduler.shutdown();
-            try {
-                if (!timeoutScheduler.awaitTermination(1, TimeUnit.SECONDS)) {
-                    timeoutScheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                timeoutScheduler.shutdownNow();
-            }
-            timeoutScheduler = null;
-        }
-
+        cancelSpeculativeReply();
         chat = null;
         if (history != null) {
             history.clear();
         }
         isInitialized = false;
-        Log.d(TAG, "GeminiService shutdown completed");
+        Log.d(TAG, "Gemini session " + sessionId + " closed");
     }
 }
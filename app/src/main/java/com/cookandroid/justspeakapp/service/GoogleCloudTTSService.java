@@ -2,17 +2,36 @@ package com.cookandroid.justspeakapp.service;
 
 import android.content.Context;
 import android.media.AudioAttributes;
+import android.media.MediaDataSource;
 import android.media.MediaPlayer;
+import android.os.Handler;
 import android.util.Base64;
+import android.util.Base64InputStream;
 import android.util.Log;
 
+import com.cookandroid.justspeakapp.BuildConfig;
+
 import org.json.JSONObject;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -32,21 +51,126 @@ public class GoogleCloudTTSService {
     private final Context context;
     private final OkHttpClient httpClient;
     private final ExecutorService executor;
-    private MediaPlayer mediaPlayer;
+    private final TtsAudioCache audioCache;
+    private final TtsEncodingPolicy encodingPolicy;
+    private final Handler mainHandler;
+
+    // 문장 단위 재생 파이프라인 (UI 스레드에서만 접근)
+    private final Deque<Segment> segments = new ArrayDeque<>(); // 재생 대기 중인 문장 (합성 중 포함)
+    private MediaPlayer mediaPlayer;          // 재생 중인 문장
+    private Segment currentSegment;
+    private MediaPlayer nextPlayer;           // 다음 문장 (준비 중이거나 현재 플레이어에 연결됨)
+    private Segment nextSegment;
+    private boolean nextPlayerChained = false;
+    private volatile int generation = 0;      // stop() 시 증가, 이전 합성 결과 무시용
+    private float volume = 1.0f;              // 끼어들기 시 페이드아웃용, stop() 시 복원
+
+    // 재생 요청부터 첫 소리가 나기까지 걸린 시간
+    private long speakRequestedAt = 0;
+    private long lastTimeToFirstAudioMs = -1;
 
     private String currentGender = "female";
     private float currentSpeed = 1.0f;
     private boolean isInitialized = false;
-    private boolean isSpeaking = false;
+    private volatile boolean isSpeaking = false;
 
     // 음성 ID (Wavenet - 자연스러운 음성)
     private static final String VOICE_MALE = "en-US-Wavenet-D";      // 남성
     private static final String VOICE_FEMALE = "en-US-Wavenet-F";    // 여성
 
+    // 일괄 합성 동시 요청 수 (앱 전체)
+    private static final int BATCH_PARALLELISM = 4;
+    private static ExecutorService batchExecutor;
+
+    // 재생 없이 캐시에 합성만 하는 앱 공용 인스턴스
+    private static GoogleCloudTTSService sharedSynthesizer;
+
+    // 합성/재생 단위 문장
+    private static class Segment {
+        final String text;
+        final SpeakCallback callback;
+        final boolean first;  // onStart 호출 대상
+        final boolean last;   // onDone 호출 대상
+        final int generation;
+        File audioFile;       // 캐시 파일 (캐시 히트 시)
+        AudioBuffer audioBuffer; // 메모리에 디코딩한 음성 (새로 합성한 경우)
+        boolean synthesized = false;
+        String cacheKey;
+        TtsEncodingPolicy.Encoding encoding;
+        long prepareStartedAt;
+
+        Segment(String text, SpeakCallback callback, boolean first, boolean last, int generation) {
+            this.text = text;
+            this.callback = callback;
+            this.first = first;
+            this.last = last;
+            this.generation = generation;
+        }
+
+        boolean hasAudio() {
+            return audioFile != null || audioBuffer != null;
+        }
+    }
+
+    // 디코딩된 음성 데이터 (크기를 미리 잡은 버퍼에 이어 쓰며, 남는 공간은 잘라내지 않고 length로 관리)
+    private static class AudioBuffer {
+        byte[] data;
+        int length = 0;
+        long bytesTransferred; // 응답 본문 크기 (Base64 + JSON)
+
+        AudioBuffer(int initialSize) {
+            data = new byte[Math.max(initialSize, 1024)];
+        }
+
+        void write(byte[] src, int offset, int count) {
+            if (length + count > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + count));
+            }
+            System.arraycopy(src, offset, data, length, count);
+            length += count;
+        }
+    }
+
+    // 메모리 버퍼를 MediaPlayer 데이터 소스로 제공 (임시 파일 없이 재생)
+    private static class AudioBufferDataSource extends MediaDataSource {
+        private final AudioBuffer buffer;
+
+        AudioBufferDataSource(AudioBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int readAt(long position, byte[] dest, int offset, int size) {
+            if (position >= buffer.length) {
+                return -1;
+            }
+            int count = (int) Math.min(size, buffer.length - position);
+            System.arraycopy(buffer.data, (int) position, dest, offset, count);
+            return count;
+        }
+
+        @Override
+        public long getSize() {
+            return buffer.length;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     public interface OnInitListener {
         void onInit(boolean success);
     }
 
+    public interface BatchCallback {
+        void onComplete(int synthesized, int failed);
+    }
+
+    /**
+     * onStart: 첫 문장 재생 시작 / onError: 문장별 합성·재생 실패 (나머지 문장은 계속 재생)
+     * onDone: 마지막 문장이 끝나면 호출 (재생 실패로 끝난 경우 포함, stop()으로 취소되면 호출되지 않음)
+     */
     public interface SpeakCallback {
         void onStart();
         void onDone();
@@ -56,8 +180,11 @@ public class GoogleCloudTTSService {
     public GoogleCloudTTSService(Context context, String apiKey, OnInitListener listener) {
         this.context = context;
         this.apiKey = apiKey;
-        this.httpClient = new OkHttpClient();
+        this.httpClient = HttpClientProvider.get(); // 앱 공용 클라이언트 (연결 재사용)
         this.executor = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(context.getMainLooper());
+        this.audioCache = TtsAudioCache.getInstance(context);
+        this.encodingPolicy = TtsEncodingPolicy.getInstance(context);
 
         // API 키 유효성 간단 체크
         if (apiKey != null && !apiKey.isEmpty()) {
@@ -99,6 +226,8 @@ public class GoogleCloudTTSService {
 
     /**
      * 텍스트를 음성으로 변환하여 재생
+     * 문장 단위로 나눠 합성하며, 앞 문장이 재생되는 동안 다음 문장을 미리 합성해 끊김 없이 이어서 재생
+     * (UI 스레드에서 호출)
      */
     public void speak(String text) {
         speak(text, null);
@@ -119,73 +248,353 @@ public class GoogleCloudTTSService {
         // 이전 재생 중지
         stop();
 
+        speakRequestedAt = System.currentTimeMillis();
+        enqueueSentences(text, callback);
+    }
+
+    /**
+     * 현재 재생을 끊지 않고 뒤에 이어서 읽기 (스트리밍 응답의 문장 단위 재생용)
+     * 앞 문장이 재생되는 동안 바로 합성을 시작 (UI 스레드에서 호출)
+     */
+    public void enqueue(String text) {
+        enqueue(text, null);
+    }
+
+    public void enqueue(String text, SpeakCallback callback) {
+        if (!isInitialized) {
+            if (callback != null) callback.onError("TTS not initialized");
+            return;
+        }
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+
+        if (!isSpeaking()) {
+            speakRequestedAt = System.currentTimeMillis();
+        }
+        enqueueSentences(text, callback);
+    }
+
+    private void enqueueSentences(String text, SpeakCallback callback) {
+        List<String> sentences = SentenceSplitter.split(text);
+        for (int i = 0; i < sentences.size(); i++) {
+            Segment segment = new Segment(sentences.get(i), callback,
+                    i == 0, i == sentences.size() - 1, generation);
+            segments.addLast(segment);
+            synthesize(segment);
+        }
+        if (!sentences.isEmpty()) {
+            isSpeaking = true;
+        }
+    }
+
+    // 백그라운드에서 문장 합성 (단일 스레드라 입력 순서대로 합성되고, 재생과는 병렬로 진행)
+    private void synthesize(Segment segment) {
         executor.submit(() -> {
-            try {
-                if (callback != null) {
-                    new android.os.Handler(context.getMainLooper()).post(callback::onStart);
+            String error = null;
+            if (segment.generation == generation) {
+                try {
+                    synthesizeAudio(segment);
+                } catch (Exception e) {
+                    Log.e(TAG, "Error in TTS", e);
+                    error = e.getMessage();
                 }
+            }
 
-                isSpeaking = true;
-
-                // API 요청 JSON 생성
-                String voiceName = "male".equals(currentGender) ? VOICE_MALE : VOICE_FEMALE;
-                String requestJson = createRequestJson(text, voiceName, currentSpeed);
-
-                Log.d(TAG, "Requesting TTS for: " + text.substring(0, Math.min(50, text.length())) + "...");
-                Log.d(TAG, "Voice: " + voiceName + ", Speed: " + currentSpeed);
-
-                // API 호출
-                RequestBody body = RequestBody.create(
-                        requestJson,
-                        MediaType.parse("application/json")
-                );
-
-                Request request = new Request.Builder()
-                        .url(TTS_API_URL + "?key=" + apiKey)
-                        .post(body)
-                        .build();
-
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (!response.isSuccessful()) {
-                        String errorBody = response.body() != null ? response.body().string() : "Unknown error";
-                        Log.e(TAG, "API error: " + response.code() + " - " + errorBody);
-                        isSpeaking = false;
-                        if (callback != null) {
-                            new android.os.Handler(context.getMainLooper()).post(() ->
-                                    callback.onError("API error: " + response.code()));
-                        }
-                        return;
-                    }
+            String errorMessage = error;
+            AudioBuffer buffer = segment.audioBuffer;
+            mainHandler.post(() -> onSegmentSynthesized(segment, errorMessage));
+
+            // 재생 준비를 먼저 넘긴 뒤 캐시에 저장 (재생은 메모리에서 하므로 디스크 쓰기를 기다리지 않음)
+            if (buffer != null && TtsEncodingPolicy.isCacheable(segment.encoding)) {
+                audioCache.put(segment.cacheKey, buffer.data, buffer.length);
+            }
+        });
+    }
+
+    // 캐시 파일 또는 API 응답을 메모리에 디코딩한 음성을 segment에 설정 (TTS 스레드)
+    private void synthesizeAudio(Segment segment) throws Exception {
+        String text = segment.text;
+        String voiceName = "male".equals(currentGender) ? VOICE_MALE : VOICE_FEMALE;
+        float speed = currentSpeed;
+
+        // 같은 문장/음성/속도로 합성한 적이 있으면 (인코딩 무관) 네트워크 없이 캐시 파일 재생
+        TtsEncodingPolicy.Encoding cachedEncoding = findCachedEncoding(text, voiceName, speed);
+        if (cachedEncoding != null) {
+            segment.encoding = cachedEncoding;
+            segment.cacheKey = TtsAudioCache.buildKey(text, voiceName, speed, cachedEncoding.name());
+            File cachedFile = audioCache.get(segment.cacheKey);
+            if (cachedFile != null) {
+                Log.d(TAG, "Audio cache hit for: " + text.substring(0, Math.min(50, text.length())));
+                segment.audioFile = cachedFile;
+                return;
+            }
+        }
+
+        // 측정한 네트워크 속도에 따라 인코딩 선택
+        segment.encoding = encodingPolicy.choose(false);
+        segment.cacheKey = TtsAudioCache.buildKey(text, voiceName, speed, segment.encoding.name());
+        if (cachedEncoding == null) {
+            audioCache.recordMiss();
+        }
+        segment.audioBuffer = fetchAudio(text, voiceName, speed, segment.encoding);
+    }
+
+    // 캐시에 저장된 인코딩 (작은 인코딩 우선), 없으면 null
+    private TtsEncodingPolicy.Encoding findCachedEncoding(String text, String voiceName, float speed) {
+        for (TtsEncodingPolicy.Encoding encoding : TtsEncodingPolicy.cacheLookupOrder()) {
+            if (audioCache.contains(TtsAudioCache.buildKey(text, voiceName, speed, encoding.name()))) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    // Cloud TTS API 호출 후 응답을 메모리에 디코딩 (TTS 스레드)
+    private AudioBuffer fetchAudio(String text, String voiceName, float speed,
+                                   TtsEncodingPolicy.Encoding encoding) throws Exception {
+        // API 요청 JSON 생성
+        String requestJson = createRequestJson(text, voiceName, speed, encoding);
+
+        Log.d(TAG, "Requesting TTS for: " + text.substring(0, Math.min(50, text.length())) + "...");
+        Log.d(TAG, "Voice: " + voiceName + ", Speed: " + speed + ", Encoding: " + encoding);
+
+        // API 호출
+        RequestBody body = RequestBody.create(
+                requestJson,
+                MediaType.parse("application/json")
+        );
+
+        Request request = new Request.Builder()
+                .url(TTS_API_URL + "?key=" + apiKey)
+                .post(body)
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                String errorBody = response.body() != null ? response.body().string() : "Unknown error";
+                Log.e(TAG, "API error: " + response.code() + " - " + errorBody);
+                throw new IOException("API error: " + response.code());
+            }
+
+            // 응답 본문을 읽으면서 바로 Base64 디코딩 (파일 저장 없이 메모리에서 재생)
+            long transferStart = System.currentTimeMillis();
+            AudioBuffer buffer = readAudioContent(response.body().byteStream(), response.body().contentLength());
+            long transferMs = System.currentTimeMillis() - transferStart;
+
+            // 인코딩별 전송량 비교용 (다운로드 속도 측정에도 사용)
+            encodingPolicy.recordTransfer(encoding, buffer.bytesTransferred, transferMs);
+            Log.d(TAG, "Received " + encoding + ": " + buffer.bytesTransferred + " bytes transferred, "
+                    + buffer.length + " bytes audio, " + transferMs + "ms");
+            return buffer;
+        }
+    }
+
+    /**
+     * 재생하지 않고 캐시에만 미리 합성 (스플래시 준비 단계 등)
+     * speak()와 같은 문장 단위로 저장하므로 이후 같은 텍스트는 네트워크 없이 바로 재생
+     * onDone은 UI 스레드에서 호출 (null 가능)
+     */
+    public void prefetch(String text, Runnable onDone) {
+        synthesizeAll(Collections.singletonList(text), onDone == null ? null : (synthesized, failed) -> onDone.run());
+    }
 
-                    String responseBody = response.body().string();
-                    JSONObject jsonResponse = new JSONObject(responseBody);
-                    String audioContent = jsonResponse.getString("audioContent");
+    /**
+     * 여러 문장을 동시에(최대 BATCH_PARALLELISM개) 합성하여 캐시에 저장
+     * 재생용 단일 스레드와 별도의 풀에서 실행되므로 재생 중인 음성 합성을 지연시키지 않음
+     * 이미 캐시된 문장은 건너뛰며, callback은 모두 끝난 뒤 UI 스레드에서 호출 (null 가능)
+     */
+    public void synthesizeAll(List<String> texts, BatchCallback callback) {
+        synthesizeAll(texts, currentGender, currentSpeed, callback);
+    }
 
-                    // Base64 디코딩
-                    byte[] audioData = Base64.decode(audioContent, Base64.DEFAULT);
+    /**
+     * 지정한 음성/속도로 일괄 합성 (공용 인스턴스의 설정을 바꾸지 않음)
+     * 재생 시와 같은 음성/속도여야 캐시가 그대로 사용됨
+     */
+    public void synthesizeAll(List<String> texts, String gender, float speed, BatchCallback callback) {
+        // speak()와 같은 문장 단위로 나누고 중복 제거
+        Set<String> sentences = new LinkedHashSet<>();
+        if (isInitialized && texts != null) {
+            for (String text : texts) {
+                sentences.addAll(SentenceSplitter.split(text));
+            }
+        }
+        if (sentences.isEmpty()) {
+            if (callback != null) mainHandler.post(() -> callback.onComplete(0, 0));
+            return;
+        }
 
-                    // 임시 파일로 저장
-                    File tempFile = File.createTempFile("tts_audio", ".mp3", context.getCacheDir());
-                    try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-                        fos.write(audioData);
+        String voiceName = "male".equals(gender) ? VOICE_MALE : VOICE_FEMALE;
+        // 캐시에 저장할 음성은 용량이 작은 인코딩으로 받음
+        TtsEncodingPolicy.Encoding encoding = encodingPolicy.choose(true);
+
+        AtomicInteger remaining = new AtomicInteger(sentences.size());
+        AtomicInteger synthesized = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long startTime = System.currentTimeMillis();
+
+        for (String sentence : sentences) {
+            getBatchExecutor().execute(() -> {
+                try {
+                    if (findCachedEncoding(sentence, voiceName, speed) == null) {
+                        AudioBuffer buffer = fetchAudio(sentence, voiceName, speed, encoding);
+                        audioCache.put(TtsAudioCache.buildKey(sentence, voiceName, speed, encoding.name()),
+                                buffer.data, buffer.length);
+                        synthesized.incrementAndGet();
                     }
+                } catch (Exception e) {
+                    Log.w(TAG, "Batch synthesis failed for: " + sentence, e);
+                    failed.incrementAndGet();
+                }
 
-                    // MediaPlayer로 재생
-                    playAudioFile(tempFile, callback);
+                if (remaining.decrementAndGet() == 0) {
+                    Log.d(TAG, "Batch synthesis done: " + synthesized.get() + " synthesized, "
+                            + failed.get() + " failed, " + (sentences.size() - synthesized.get() - failed.get())
+                            + " cached (" + (System.currentTimeMillis() - startTime) + "ms)");
+                    if (callback != null) {
+                        mainHandler.post(() -> callback.onComplete(synthesized.get(), failed.get()));
+                    }
                 }
+            });
+        }
+    }
 
-            } catch (Exception e) {
-                Log.e(TAG, "Error in TTS", e);
-                isSpeaking = false;
-                if (callback != null) {
-                    new android.os.Handler(context.getMainLooper()).post(() ->
-                            callback.onError(e.getMessage()));
+    /**
+     * 재생 없이 캐시에 미리 합성만 하는 앱 공용 인스턴스 (인사말, 퀴즈 문제 등)
+     * 화면마다 TTS 엔진을 만들지 않고 같은 HTTP 클라이언트, 음성 캐시, 일괄 합성 풀을 사용
+     * Cloud TTS 키가 없으면 null
+     */
+    public static synchronized GoogleCloudTTSService getSharedSynthesizer(Context context) {
+        if (sharedSynthesizer == null) {
+            String apiKey = BuildConfig.GOOGLE_CLOUD_TTS_KEY;
+            if (apiKey == null || apiKey.isEmpty()) {
+                return null;
+            }
+            sharedSynthesizer = new GoogleCloudTTSService(context.getApplicationContext(), apiKey, null);
+        }
+        return sharedSynthesizer;
+    }
+
+    // 일괄 합성용 공용 스레드 풀 (화면마다 TTS 서비스가 생성되어도 전체 동시 요청 수 제한)
+    private static synchronized ExecutorService getBatchExecutor() {
+        if (batchExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    BATCH_PARALLELISM, BATCH_PARALLELISM,
+                    30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "tts-batch-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            batchExecutor = pool;
+        }
+        return batchExecutor;
+    }
+
+    /**
+     * 응답 JSON {"audioContent": "<base64>"} 에서 audioContent 값을 찾아 읽는 즉시 디코딩
+     * 응답 전체를 문자열/JSONObject로 만들지 않아 Base64 문자열 복사본이 생기지 않음
+     */
+    private static AudioBuffer readAudioContent(InputStream body, long contentLength) throws IOException {
+        CountingInputStream counter = new CountingInputStream(body);
+        InputStream in = new BufferedInputStream(counter);
+
+        // "audioContent" 키 찾기
+        byte[] field = "\"audioContent\"".getBytes(StandardCharsets.US_ASCII);
+        int matched = 0;
+        while (matched < field.length) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("audioContent not found in response");
+            }
+            matched = b == field[matched] ? matched + 1 : (b == field[0] ? 1 : 0);
+        }
+
+        // 값의 여는 따옴표까지 건너뜀
+        int b;
+        while ((b = in.read()) != '"') {
+            if (b < 0) {
+                throw new IOException("Malformed audioContent");
+            }
+        }
+
+        // 닫는 따옴표 전까지의 Base64 문자만 전달하는 스트림
+        InputStream base64Chars = new InputStream() {
+            private boolean ended = false;
+
+            @Override
+            public int read() throws IOException {
+                while (!ended) {
+                    int c = in.read();
+                    if (c < 0 || c == '"') {
+                        ended = true;
+                    } else if (c != '\\') { // JSON 이스케이프 문자("\/") 무시
+                        return c;
+                    }
                 }
+                return -1;
             }
-        });
+        };
+
+        // Base64 4문자 → 3바이트이므로 응답 크기로 버퍼 크기 예측
+        int initialSize = contentLength > 0 ? (int) (contentLength * 3 / 4) : 32 * 1024;
+        AudioBuffer buffer = new AudioBuffer(initialSize);
+        try (Base64InputStream decoder = new Base64InputStream(base64Chars, Base64.DEFAULT)) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = decoder.read(chunk)) > 0) {
+                buffer.write(chunk, 0, read);
+            }
+        }
+
+        if (buffer.length == 0) {
+            throw new IOException("Empty audioContent");
+        }
+        buffer.bytesTransferred = counter.count;
+        return buffer;
+    }
+
+    // 읽은 바이트 수 집계
+    private static class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+    }
+
+    private void onSegmentSynthesized(Segment segment, String error) {
+        if (segment.generation != generation) {
+            return; // stop() 이후 도착한 결과는 버림
+        }
+
+        segment.synthesized = true;
+        if (!segment.hasAudio() && segment.callback != null) {
+            segment.callback.onError(error != null ? error : "Synthesis failed");
+        }
+        prepareUpcoming();
     }
 
-    private String createRequestJson(String text, String voiceName, float speed) {
+    private String createRequestJson(String text, String voiceName, float speed,
+                                     TtsEncodingPolicy.Encoding encoding) {
         try {
             JSONObject input = new JSONObject();
             input.put("text", text);
@@ -195,7 +604,7 @@ public class GoogleCloudTTSService {
             voice.put("name", voiceName);
 
             JSONObject audioConfig = new JSONObject();
-            audioConfig.put("audioEncoding", "MP3");
+            audioConfig.put("audioEncoding", encoding.name());
             audioConfig.put("speakingRate", speed);
             audioConfig.put("pitch", 0.0);  // 기본 피치
 
@@ -211,68 +620,233 @@ public class GoogleCloudTTSService {
         }
     }
 
-    private void playAudioFile(File audioFile, SpeakCallback callback) {
-        new android.os.Handler(context.getMainLooper()).post(() -> {
-            try {
-                if (mediaPlayer != null) {
-                    mediaPlayer.release();
-                }
+    /**
+     * 대기열 맨 앞 문장이 합성되어 있으면 다음 재생용 MediaPlayer 준비
+     * 재생 중인 문장이 있으면 준비 완료 후 setNextMediaPlayer로 이어 붙여 끊김 없이 재생
+     */
+    private void prepareUpcoming() {
+        if (nextPlayer != null) {
+            return;
+        }
+
+        // 합성에 실패한 문장은 건너뜀
+        Segment segment = segments.peekFirst();
+        while (segment != null && segment.synthesized && !segment.hasAudio()) {
+            segments.pollFirst();
+            finishSegment(segment, true);
+            segment = segments.peekFirst();
+        }
 
-                mediaPlayer = new MediaPlayer();
-                mediaPlayer.setAudioAttributes(
-                        new AudioAttributes.Builder()
-                                .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
-                                .setUsage(AudioAttributes.USAGE_MEDIA)
-                                .build()
-                );
-
-                mediaPlayer.setDataSource(audioFile.getAbsolutePath());
-                mediaPlayer.setOnPreparedListener(mp -> {
-                    Log.d(TAG, "Audio prepared, starting playback");
-                    mp.start();
-                });
-
-                mediaPlayer.setOnCompletionListener(mp -> {
-                    Log.d(TAG, "Audio playback completed");
-                    isSpeaking = false;
-                    audioFile.delete();  // 임시 파일 삭제
-                    if (callback != null) callback.onDone();
-                });
-
-                mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                    Log.e(TAG, "MediaPlayer error: " + what + ", " + extra);
-                    isSpeaking = false;
-                    if (callback != null) callback.onError("Playback error");
-                    return true;
-                });
-
-                mediaPlayer.prepareAsync();
-
-            } catch (IOException e) {
-                Log.e(TAG, "Error playing audio", e);
+        if (segment == null) {
+            if (mediaPlayer == null) {
                 isSpeaking = false;
-                if (callback != null) callback.onError(e.getMessage());
             }
-        });
+            return;
+        }
+        if (!segment.synthesized) {
+            return; // 합성 완료 시 다시 호출됨
+        }
+
+        segments.pollFirst();
+        nextSegment = segment;
+        nextPlayer = createPlayer(segment);
+        if (nextPlayer == null) {
+            finishSegment(segment, true);
+            nextSegment = null;
+            prepareUpcoming();
+        }
+    }
+
+    private MediaPlayer createPlayer(Segment segment) {
+        try {
+            MediaPlayer player = new MediaPlayer();
+            player.setAudioAttributes(
+                    new AudioAttributes.Builder()
+                            .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                            .setUsage(AudioAttributes.USAGE_MEDIA)
+                            .build()
+            );
+            if (segment.audioBuffer != null) {
+                player.setDataSource(new AudioBufferDataSource(segment.audioBuffer));
+            } else {
+                player.setDataSource(segment.audioFile.getAbsolutePath());
+            }
+            player.setOnPreparedListener(this::onPlayerPrepared);
+            player.setOnCompletionListener(this::onPlayerCompleted);
+            player.setOnErrorListener(this::onPlayerError);
+            player.setVolume(volume, volume);
+            segment.prepareStartedAt = System.currentTimeMillis();
+            player.prepareAsync();
+            return player;
+        } catch (IOException e) {
+            Log.e(TAG, "Error playing audio", e);
+            if (segment.callback != null) segment.callback.onError(e.getMessage());
+            return null;
+        }
+    }
+
+    private void onPlayerPrepared(MediaPlayer player) {
+        if (player != nextPlayer) {
+            player.release(); // stop()으로 취소된 플레이어
+            return;
+        }
+
+        // 인코딩별 재생 준비(디코딩) 시간
+        if (nextSegment.encoding != null) {
+            long prepareMs = System.currentTimeMillis() - nextSegment.prepareStartedAt;
+            encodingPolicy.recordPrepare(nextSegment.encoding, prepareMs);
+            Log.d(TAG, "Prepared " + nextSegment.encoding + " audio in " + prepareMs + "ms");
+        }
+
+        if (mediaPlayer == null) {
+            Log.d(TAG, "Audio prepared, starting playback");
+            player.start();
+            promoteNextPlayer();
+        } else {
+            // 현재 문장이 끝나면 자동으로 이어서 재생
+            mediaPlayer.setNextMediaPlayer(player);
+            nextPlayerChained = true;
+        }
+    }
+
+    private void onPlayerCompleted(MediaPlayer player) {
+        if (player != mediaPlayer) {
+            return;
+        }
+
+        Log.d(TAG, "Audio playback completed");
+        finishSegment(currentSegment, true);
+        player.release();
+        mediaPlayer = null;
+        currentSegment = null;
+
+        if (nextPlayerChained) {
+            promoteNextPlayer(); // setNextMediaPlayer로 이미 재생 시작됨
+        } else {
+            prepareUpcoming(); // 다음 플레이어가 준비 중이면 준비 완료 시 바로 재생
+        }
+    }
+
+    private boolean onPlayerError(MediaPlayer player, int what, int extra) {
+        Log.e(TAG, "MediaPlayer error: " + what + ", " + extra);
+
+        if (player == mediaPlayer) {
+            if (currentSegment.callback != null) currentSegment.callback.onError("Playback error");
+            finishSegment(currentSegment, true);
+            player.release();
+            mediaPlayer = null;
+            currentSegment = null;
+
+            if (nextPlayerChained) {
+                nextPlayer.start();
+                promoteNextPlayer();
+            } else {
+                prepareUpcoming();
+            }
+        } else if (player == nextPlayer) {
+            if (nextSegment.callback != null) nextSegment.callback.onError("Playback error");
+            if (nextPlayerChained && mediaPlayer != null) {
+                mediaPlayer.setNextMediaPlayer(null);
+            }
+            finishSegment(nextSegment, true);
+            player.release();
+            nextPlayer = null;
+            nextSegment = null;
+            nextPlayerChained = false;
+            prepareUpcoming();
+        } else {
+            player.release();
+        }
+        return true;
+    }
+
+    // 준비된 다음 플레이어를 현재 플레이어로 전환 (이미 재생 시작된 상태)
+    private void promoteNextPlayer() {
+        mediaPlayer = nextPlayer;
+        currentSegment = nextSegment;
+        nextPlayer = null;
+        nextSegment = null;
+        nextPlayerChained = false;
+
+        if (speakRequestedAt > 0) {
+            lastTimeToFirstAudioMs = System.currentTimeMillis() - speakRequestedAt;
+            speakRequestedAt = 0;
+            Log.d(TAG, "Time to first audio: " + lastTimeToFirstAudioMs + "ms");
+        }
+        if (currentSegment.first && currentSegment.callback != null) {
+            currentSegment.callback.onStart();
+        }
+
+        // 재생하는 동안 다음 문장 준비
+        prepareUpcoming();
+    }
+
+    // ended: 재생이 끝났거나 실패로 건너뜀 (false면 stop()으로 취소)
+    private void finishSegment(Segment segment, boolean ended) {
+        if (segment == null) {
+            return;
+        }
+        segment.audioBuffer = null; // 메모리 해제 (캐시 파일은 유지)
+        if (ended && segment.last && segment.callback != null) {
+            segment.callback.onDone();
+        }
     }
 
+    /**
+     * 재생 중지 및 대기 중인 문장 모두 취소 (UI 스레드에서 호출)
+     */
     public void stop() {
+        generation++; // 합성 중인 문장 결과 무시
+        for (Segment segment : segments) {
+            finishSegment(segment, false);
+        }
+        segments.clear();
+
+        if (nextPlayer != null) {
+            nextPlayer.release();
+            nextPlayer = null;
+        }
+        finishSegment(nextSegment, false);
+        nextSegment = null;
+        nextPlayerChained = false;
+
         if (mediaPlayer != null) {
             try {
                 if (mediaPlayer.isPlaying()) {
                     mediaPlayer.stop();
                 }
                 mediaPlayer.release();
-                mediaPlayer = null;
             } catch (Exception e) {
                 Log.e(TAG, "Error stopping MediaPlayer", e);
             }
+            mediaPlayer = null;
         }
+        finishSegment(currentSegment, false);
+        currentSegment = null;
+
+        speakRequestedAt = 0;
         isSpeaking = false;
+        volume = 1.0f;
+    }
+
+    /**
+     * 재생 음량 (0.0 ~ 1.0) 설정, 재생 중인 문장과 이어서 재생될 문장 모두 적용 (UI 스레드에서 호출)
+     * stop() 시 원래 음량으로 복원
+     */
+    public void setVolume(float volume) {
+        this.volume = volume;
+        try {
+            if (mediaPlayer != null) mediaPlayer.setVolume(volume, volume);
+            if (nextPlayer != null) nextPlayer.setVolume(volume, volume);
+        } catch (IllegalStateException e) {
+            Log.w(TAG, "Failed to set volume", e);
+        }
     }
 
     public void shutdown() {
         stop();
+        Log.d(TAG, "Audio cache stats: " + audioCache.getStats());
+        Log.d(TAG, "Encoding stats: " + encodingPolicy.getStats());
         executor.shutdown();
     }
 
@@ -281,7 +855,22 @@ public class GoogleCloudTTSService {
     }
 
     public boolean isSpeaking() {
-        return isSpeaking || (mediaPlayer != null && mediaPlayer.isPlaying());
+        return isSpeaking;
+    }
+
+    /**
+     * 마지막 재생 요청부터 첫 문장 재생 시작까지 걸린 시간 (ms), 기록이 없으면 -1
+     */
+    public long getLastTimeToFirstAudioMs() {
+        return lastTimeToFirstAudioMs;
+    }
+
+    public TtsEncodingPolicy getEncodingPolicy() {
+        return encodingPolicy;
+    }
+
+    public TtsAudioCache getAudioCache() {
+        return audioCache;
     }
 
     public String getCurrentGender() {
@@ -0,0 +1,87 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.cookandroid.justspeakapp.model.Scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시나리오 인사말 음성 미리 합성
+ * 시나리오 목록을 보는 동안 사용자가 누를 가능성이 높은 시나리오의 첫 인사를 캐시에 저장하여
+ * 대화 화면 진입 시 네트워크 없이 바로 재생되도록 함
+ * 재생 엔진 없이 앱 공용 합성기(GoogleCloudTTSService.getSharedSynthesizer)로 캐시에만 저장
+ */
+public class GreetingPrefetcher {
+    private static final String TAG = "GreetingPrefetcher";
+    public static final int DEFAULT_PREFETCH_COUNT = 3;
+
+    private final GoogleCloudTTSService synthesizer; // Cloud TTS 키가 없으면 null (미리 합성하지 않음)
+    private final String voiceGender;
+    private final float voiceSpeed;
+
+    public GreetingPrefetcher(Context context, String voiceGender, float voiceSpeed) {
+        this.synthesizer = GoogleCloudTTSService.getSharedSynthesizer(context);
+        // 대화 화면과 같은 음성/속도로 합성해야 캐시가 그대로 사용됨
+        this.voiceGender = voiceGender;
+        this.voiceSpeed = voiceSpeed;
+    }
+
+    /**
+     * 가능성이 높은 순서로 시나리오 선택
+     * 1. 마지막으로 시작한 시나리오
+     * 2. 진행 중인(시작했지만 끝나지 않은) 시나리오, 진도가 많이 나간 순서
+     * 3. 화면에 보이는 순서
+     * 앞에서부터 최대 limit개 반환
+     */
+    public static List<String> rankScenarios(String lastScenario,
+                                             Map<String, Map<String, Integer>> progress,
+                                             List<String> visibleScenarios, int limit) {
+        List<String> ranked = new ArrayList<>();
+        if (lastScenario != null) {
+            ranked.add(lastScenario);
+        }
+
+        List<String> inProgress = new ArrayList<>();
+        if (progress != null) {
+            for (Map.Entry<String, Map<String, Integer>> entry : progress.entrySet()) {
+                Integer completed = entry.getValue().get("completed");
+                Integer total = entry.getValue().get("total");
+                if (completed != null && total != null && completed > 0 && completed < total) {
+                    inProgress.add(entry.getKey());
+                }
+            }
+            inProgress.sort((a, b) -> Integer.compare(
+                    progress.get(b).get("completed"), progress.get(a).get("completed")));
+        }
+        for (String scenarioId : inProgress) {
+            if (!ranked.contains(scenarioId)) ranked.add(scenarioId);
+        }
+
+        for (String scenarioId : visibleScenarios) {
+            if (!ranked.contains(scenarioId)) ranked.add(scenarioId);
+        }
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * 시나리오 인사말 미리 합성 (병렬로 합성, 재생 경로와 별도의 풀, UI 스레드에서 호출)
+     */
+    public void prefetch(List<String> scenarioIds) {
+        if (synthesizer == null) {
+            return;
+        }
+
+        List<String> greetings = new ArrayList<>();
+        for (String scenarioId : scenarioIds) {
+            greetings.add(Scenario.getGreeting(scenarioId));
+        }
+        Log.d(TAG, "Prefetching greetings for: " + scenarioIds);
+
+        synthesizer.synthesizeAll(greetings, voiceGender, voiceSpeed, (synthesized, failed) ->
+                Log.d(TAG, "Greeting prefetch done: " + synthesized + " synthesized, " + failed + " failed"));
+    }
+}
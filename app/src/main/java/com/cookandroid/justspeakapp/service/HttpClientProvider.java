@@ -0,0 +1,255 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 앱 전체에서 공유하는 HTTP 클라이언트 (프로세스당 1개)
+ * 연결 풀(keep-alive)과 HTTP/2 다중화로 화면이 바뀌어도 DNS/TCP/TLS 연결을 재사용하고,
+ * 요청마다 DNS/연결/TLS/첫 바이트까지의 시간을 기록
+ * (응답 gzip 압축은 OkHttp가 기본으로 요청/해제)
+ */
+public final class HttpClientProvider {
+    private static final String TAG = "HttpClient";
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 20;
+    private static final long WRITE_TIMEOUT_SECONDS = 20;
+    private static final long CALL_TIMEOUT_SECONDS = 30;
+
+    private static volatile OkHttpClient client;
+
+    // 최근 요청 지표
+    private static volatile CallTimings lastTimings;
+    private static final AtomicInteger callCount = new AtomicInteger();
+    private static final AtomicInteger newConnectionCount = new AtomicInteger();
+
+    /**
+     * 요청 1건의 구간별 소요 시간 (ms), 해당 구간이 없었으면 -1 (연결 재사용 시 DNS/연결/TLS 없음)
+     */
+    public static class CallTimings {
+        public final String host;
+        public final long dnsMs;
+        public final long connectMs;
+        public final long tlsMs;
+        public final long timeToFirstByteMs;
+        public final long totalMs;
+        public final boolean connectionReused;
+        public final Protocol protocol;
+
+        CallTimings(String host, long dnsMs, long connectMs, long tlsMs, long timeToFirstByteMs,
+                    long totalMs, boolean connectionReused, Protocol protocol) {
+            this.host = host;
+            this.dnsMs = dnsMs;
+            this.connectMs = connectMs;
+            this.tlsMs = tlsMs;
+            this.timeToFirstByteMs = timeToFirstByteMs;
+            this.totalMs = totalMs;
+            this.connectionReused = connectionReused;
+            this.protocol = protocol;
+        }
+
+        @Override
+        public String toString() {
+            return host + " [" + protocol + (connectionReused ? ", reused" : "") + "]"
+                    + " dns=" + dnsMs + "ms, connect=" + connectMs + "ms, tls=" + tlsMs
+                    + "ms, ttfb=" + timeToFirstByteMs + "ms, total=" + totalMs + "ms";
+        }
+    }
+
+    private HttpClientProvider() {
+    }
+
+    public static OkHttpClient get() {
+        OkHttpClient result = client;
+        if (result == null) {
+            synchronized (HttpClientProvider.class) {
+                result = client;
+                if (result == null) {
+                    result = createClient();
+                    client = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static OkHttpClient createClient() {
+        List<Protocol> protocols = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(protocols)
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .eventListenerFactory(call -> new TimingEventListener())
+                .build();
+    }
+
+    /**
+     * 지정한 호스트로 미리 연결 (DNS 조회 + TCP/TLS 연결을 풀에 남겨 첫 실제 요청의 지연을 줄임)
+     * 응답 코드는 무시하며, onDone은 성공/실패와 관계없이 백그라운드 스레드에서 호출 (null 가능)
+     */
+    public static void warmUp(String url, Runnable onDone) {
+        Request request = new Request.Builder().url(url).head().build();
+        get().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                Log.d(TAG, "Warmed up connection to " + call.request().url().host());
+                if (onDone != null) onDone.run();
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "Warm-up failed for " + call.request().url().host() + ": " + e.getMessage());
+                if (onDone != null) onDone.run();
+            }
+        });
+    }
+
+    public static CallTimings getLastTimings() {
+        return lastTimings;
+    }
+
+    public static int getCallCount() {
+        return callCount.get();
+    }
+
+    /**
+     * 전체 요청 중 기존 연결을 재사용한 비율 (0.0 ~ 1.0)
+     */
+    public static float getConnectionReuseRate() {
+        int calls = callCount.get();
+        return calls > 0 ? 1f - Math.min(1f, (float) newConnectionCount.get() / calls) : 0f;
+    }
+
+    public static String getStats() {
+        OkHttpClient current = client;
+        String pool = current != null
+                ? ", pooled=" + current.connectionPool().connectionCount()
+                + " (idle " + current.connectionPool().idleConnectionCount() + ")"
+                : "";
+        return "calls=" + callCount.get() + ", newConnections=" + newConnectionCount.get()
+                + ", reuseRate=" + getConnectionReuseRate() + pool;
+    }
+
+    // 요청 1건의 구간별 시간 측정 (요청마다 새 인스턴스)
+    private static class TimingEventListener extends EventListener {
+        private long callStart;
+        private long dnsStart = -1;
+        private long dnsMs = -1;
+        private long connectStart = -1;
+        private long connectMs = -1;
+        private long tlsStart = -1;
+        private long tlsMs = -1;
+        private long requestStart = -1;
+        private long timeToFirstByteMs = -1;
+        private Protocol protocol;
+
+        private static long now() {
+            return System.nanoTime() / 1_000_000;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = now();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = now();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            dnsMs = now() - dnsStart;
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = now();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            tlsStart = now();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            tlsMs = now() - tlsStart;
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connectMs = now() - connectStart;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            protocol = connection.protocol();
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            if (requestStart < 0) {
+                requestStart = now();
+            }
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (timeToFirstByteMs < 0 && requestStart >= 0) {
+                timeToFirstByteMs = now() - requestStart;
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            // 본문을 끝까지 읽지 않는 요청도 있으므로 응답 헤더 수신 시점에 기록
+            record(call);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            Log.w(TAG, call.request().url().host() + " failed after " + (now() - callStart) + "ms: "
+                    + ioe.getMessage());
+        }
+
+        private void record(Call call) {
+            boolean reused = connectStart < 0;
+            callCount.incrementAndGet();
+            if (!reused) {
+                newConnectionCount.incrementAndGet();
+            }
+
+            CallTimings timings = new CallTimings(call.request().url().host(), dnsMs, connectMs, tlsMs,
+                    timeToFirstByteMs, now() - callStart, reused, protocol);
+            lastTimings = timings;
+            Log.d(TAG, timings.toString());
+        }
+    }
+}
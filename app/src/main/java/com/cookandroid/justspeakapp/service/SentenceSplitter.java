@@ -0,0 +1,82 @@
+package com.cookandroid.justspeakapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TTS 문장 단위 재생용 문장 분리
+ * 문장부호(. ! ?) 뒤에 공백이 오는 위치를 문장 끝으로 판단
+ */
+public final class SentenceSplitter {
+    // 이보다 짧은 문장은 다음 문장과 합쳐서 합성 (요청 수 감소), 첫 문장은 빠른 재생 시작을 위해 그대로 둠
+    private static final int MIN_SEGMENT_LENGTH = 20;
+
+    private SentenceSplitter() {
+    }
+
+    /**
+     * 텍스트를 문장 단위로 분리 (앞뒤 공백 제거, 빈 문장 제외)
+     */
+    public static List<String> split(String text) {
+        List<String> sentences = new ArrayList<>();
+        if (text == null) {
+            return sentences;
+        }
+
+        StringBuilder pending = new StringBuilder();
+        int start = 0;
+        while (start < text.length()) {
+            int end = findFirstSentenceEnd(text, start);
+            if (end < 0) {
+                end = text.length();
+            }
+
+            String sentence = text.substring(start, end).trim();
+            start = end;
+            if (sentence.isEmpty()) {
+                continue;
+            }
+
+            if (pending.length() > 0) {
+                pending.append(' ');
+            }
+            pending.append(sentence);
+            if (sentences.isEmpty() || pending.length() >= MIN_SEGMENT_LENGTH) {
+                sentences.add(pending.toString());
+                pending.setLength(0);
+            }
+        }
+
+        if (pending.length() > 0) {
+            sentences.add(pending.toString());
+        }
+        return sentences;
+    }
+
+    /**
+     * 마지막으로 완성된 문장의 끝 위치 (문장부호 뒤에 공백이 온 경우만 완성으로 판단), 없으면 -1
+     * 스트리밍 응답에서 아직 이어질 수 있는 마지막 문장을 제외할 때 사용
+     */
+    public static int findLastSentenceEnd(CharSequence text, int fromIndex) {
+        for (int i = text.length() - 2; i >= fromIndex; i--) {
+            if (isSentenceEnd(text, i)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int findFirstSentenceEnd(CharSequence text, int fromIndex) {
+        for (int i = fromIndex; i < text.length() - 1; i++) {
+            if (isSentenceEnd(text, i)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSentenceEnd(CharSequence text, int index) {
+        char c = text.charAt(index);
+        return (c == '.' || c == '!' || c == '?') && Character.isWhitespace(text.charAt(index + 1));
+    }
+}
@@ -15,17 +15,77 @@ import java.util.Locale;
 
 public class SpeechRecognitionService {
     private static final String TAG = "SpeechRecognition";
+    private static final long STABLE_PARTIAL_MS = 600; // 부분 인식 결과가 이 시간 동안 바뀌지 않으면 안정된 것으로 판단
+
+    // 음성 활동 감지 (onRmsChanged 기준, TTS 재생 중 끼어들기 판단용)
+    // 배경 소음/스피커 소리 수준을 천천히 따라가는 기준값보다 일정 이상 큰 소리가 몇 번 연속되면 말하기 시작으로 판단
+    private static final float VOICE_MARGIN_DB = 4.0f;
+    private static final int VOICE_MIN_FRAMES = 3;
+    private static final float NOISE_FLOOR_WEIGHT = 0.05f;
+
+    // 연속 듣기: 오류 후 재시작 대기 시간, 연속 오류가 이만큼 쌓이면 인식기를 새로 만듦
+    private static final long RESTART_BACKOFF_MS = 100;
+    private static final int MAX_CONSECUTIVE_ERRORS = 3;
+
     private SpeechRecognizer speechRecognizer;
     private Context context;
     private SpeechRecognitionListener listener;
     private Handler mainHandler;
     private boolean isInitializing = false;
+    private boolean pendingStart = false; // 초기화 중에 요청된 듣기 시작
+    private Intent recognizerIntent;      // 매번 새로 만들지 않고 재사용
+
+    // 연속 듣기 모드: 결과/오류 후 같은 인식기로 바로 다시 듣기 (stopListening() 전까지)
+    private boolean continuousMode = false;
+    private boolean sessionActive = false;
+    private int consecutiveErrors = 0;
+    private final Runnable restartRunnable = () -> {
+        if (continuousMode && sessionActive) {
+            doStartListening();
+        }
+    };
+
+    // 인식기 시작 지연 지표 (startListening 요청 ~ onReadyForSpeech)
+    private long startRequestedAt = 0;
+    private long lastStartLatencyMs = -1;
+    private long totalStartLatencyMs = 0;
+    private int readyCount = 0;
+    private int restartCount = 0;
+    private int recreateCount = 0;
+
+    // 음성 활동 감지 상태 (듣기 시작할 때마다 초기화)
+    private float noiseFloorDb = Float.NaN;
+    private int voiceFrames = 0;
+    private boolean voiceEnergyDetected = false;  // 소리 크기 조건은 만족 (부분 인식 결과를 기다리는 중)
+    private boolean voiceActivityReported = false;
+
+    // 부분 인식 결과 안정성 판단용
+    private String lastPartialText;
+    private final Runnable stablePartialRunnable = () -> {
+        if (listener != null && lastPartialText != null) {
+            Log.d(TAG, "Stable partial result: " + lastPartialText);
+            listener.onStablePartialResult(lastPartialText);
+        }
+    };
 
     public interface SpeechRecognitionListener {
         void onSpeechResult(String text, float confidence);
         void onSpeechError(String error);
         void onSpeechStart();
         void onSpeechEnd();
+
+        /**
+         * 부분 인식 결과가 잠시 동안 바뀌지 않을 때 호출 (최종 결과 전에 미리 응답 준비용)
+         */
+        default void onStablePartialResult(String text) {
+        }
+
+        /**
+         * 주변 소리보다 뚜렷하게 큰 목소리가 감지되고 인식기가 부분 결과도 만들었을 때 듣기 1회당 한 번 호출
+         * (TTS 재생 중 끼어들기용, partialText로 스피커 소리가 다시 인식된 것인지 확인 가능)
+         */
+        default void onVoiceActivity(String partialText) {
+        }
     }
 
     public SpeechRecognitionService(Context context) {
@@ -40,6 +100,20 @@ public class SpeechRecognitionService {
     }
 
     private void initializeSpeechRecognizer() {
+        createSpeechRecognizer();
+
+        // 초기화 중에 요청된 듣기 시작 (폴링 없이 초기화 직후 실행)
+        if (pendingStart) {
+            pendingStart = false;
+            if (speechRecognizer != null) {
+                doStartListening();
+            } else if (listener != null) {
+                listener.onSpeechError("Speech recognizer not available. Please restart the app.");
+            }
+        }
+    }
+
+    private void createSpeechRecognizer() {
         Log.d(TAG, "Initializing SpeechRecognizer...");
         isInitializing = true;
 
@@ -60,7 +134,13 @@ public class SpeechRecognitionService {
                 speechRecognizer.setRecognitionListener(new RecognitionListener() {
                 @Override
                 public void onReadyForSpeech(Bundle params) {
-                    Log.d(TAG, "Ready for speech");
+                    if (startRequestedAt > 0) {
+                        lastStartLatencyMs = System.currentTimeMillis() - startRequestedAt;
+                        totalStartLatencyMs += lastStartLatencyMs;
+                        readyCount++;
+                        startRequestedAt = 0;
+                    }
+                    Log.d(TAG, "Ready for speech (start latency " + lastStartLatencyMs + "ms)");
                     if (listener != null) {
                         listener.onSpeechStart();
                     }
@@ -73,7 +153,7 @@ public class SpeechRecognitionService {
 
                 @Override
                 public void onRmsChanged(float rmsdB) {
-                    // Volume level changed
+                    detectVoiceActivity(rmsdB);
                 }
 
                 @Override
@@ -91,18 +171,38 @@ public class SpeechRecognitionService {
 
                 @Override
                 public void onError(int error) {
+                    resetPartialResults();
                     String errorMessage = getErrorText(error);
                     Log.e(TAG, "Error code: " + error + " - " + errorMessage);
 
                     // ERROR_NO_MATCH나 ERROR_SPEECH_TIMEOUT은 사용자가 말하지 않은 경우 - 재시도 허용
-                    if (error == SpeechRecognizer.ERROR_NO_MATCH || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT) {
+                    boolean noSpeech = error == SpeechRecognizer.ERROR_NO_MATCH
+                            || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT;
+                    if (noSpeech) {
                         Log.d(TAG, "No speech detected - user can retry");
+                    } else {
+                        consecutiveErrors++;
                     }
 
-                    // ERROR_RECOGNIZER_BUSY인 경우 재초기화 시도
-                    if (error == SpeechRecognizer.ERROR_RECOGNIZER_BUSY) {
-                        Log.d(TAG, "Recognizer busy - will reinitialize");
-                        reinitialize();
+                    if (continuousMode && sessionActive) {
+                        if (error == SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS) {
+                            sessionActive = false;
+                        } else {
+                            // 말이 없었던 경우는 알리지 않고 바로 다시 듣기
+                            if (!noSpeech && listener != null) {
+                                listener.onSpeechError(errorMessage);
+                            }
+                            restartSession(!noSpeech);
+                            return;
+                        }
+                    } else if (error == SpeechRecognizer.ERROR_RECOGNIZER_BUSY) {
+                        // 인식기는 유지하고 진행 중인 인식만 취소 (계속 실패하면 새로 만듦)
+                        Log.d(TAG, "Recognizer busy - cancelling current session");
+                        if (consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                            recreateRecognizer();
+                        } else if (speechRecognizer != null) {
+                            speechRecognizer.cancel();
+                        }
                     }
 
                     if (listener != null) {
@@ -112,6 +212,8 @@ public class SpeechRecognitionService {
 
                 @Override
                 public void onResults(Bundle results) {
+                    resetPartialResults();
+                    consecutiveErrors = 0;
                     ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
                     float[] confidenceScores = results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
 
@@ -125,11 +227,29 @@ public class SpeechRecognitionService {
                             listener.onSpeechResult(text, confidence);
                         }
                     }
+
+                    if (continuousMode && sessionActive) {
+                        restartSession(false);
+                    }
                 }
 
                 @Override
                 public void onPartialResults(Bundle partialResults) {
-                    // Partial results available
+                    ArrayList<String> partials = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+                    if (partials == null || partials.isEmpty()) {
+                        return;
+                    }
+
+                    String text = partials.get(0).trim();
+                    if (text.isEmpty() || text.equals(lastPartialText)) {
+                        return;
+                    }
+
+                    // 결과가 바뀔 때마다 안정성 타이머 재시작
+                    lastPartialText = text;
+                    mainHandler.removeCallbacks(stablePartialRunnable);
+                    mainHandler.postDelayed(stablePartialRunnable, STABLE_PARTIAL_MS);
+                    reportVoiceActivityIfReady();
                 }
 
                 @Override
@@ -158,59 +278,109 @@ public class SpeechRecognitionService {
         Log.d(TAG, "listener is null: " + (listener == null));
         Log.d(TAG, "isInitializing: " + isInitializing);
 
-        // 초기화 중이면 잠시 대기 후 재시도
+        if (continuousMode) {
+            sessionActive = true;
+        }
+
+        // 메인 스레드에서 실행 보장
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            Log.d(TAG, "Not on main thread, posting to main handler...");
+            mainHandler.post(this::startListening);
+            return;
+        }
+
+        // 초기화 중이면 초기화가 끝난 직후 시작
         if (isInitializing) {
-            Log.d(TAG, "Still initializing, waiting 500ms...");
-            mainHandler.postDelayed(this::startListening, 500);
+            Log.d(TAG, "Still initializing, will start when ready");
+            pendingStart = true;
             return;
         }
 
-        // SpeechRecognizer가 null이면 재초기화 시도
+        // SpeechRecognizer가 null이면 재초기화 시도 (초기화는 동기로 진행됨)
         if (speechRecognizer == null) {
             Log.w(TAG, "SpeechRecognizer is null, attempting to reinitialize...");
-            reinitialize();
-            // 재초기화 후 500ms 대기 후 재시도
-            mainHandler.postDelayed(() -> {
-                if (speechRecognizer != null) {
-                    doStartListening();
-                } else {
-                    Log.e(TAG, "SpeechRecognizer still null after reinitialization");
-                    if (listener != null) {
-                        listener.onSpeechError("Speech recognizer not available. Please restart the app.");
-                    }
+            recreateRecognizer();
+            if (speechRecognizer == null) {
+                Log.e(TAG, "SpeechRecognizer still null after reinitialization");
+                sessionActive = false;
+                if (listener != null) {
+                    listener.onSpeechError("Speech recognizer not available. Please restart the app.");
                 }
-            }, 500);
-            return;
+                return;
+            }
         }
 
-        // 메인 스레드에서 실행 보장
-        if (Looper.myLooper() != Looper.getMainLooper()) {
-            Log.d(TAG, "Not on main thread, posting to main handler...");
-            mainHandler.post(this::doStartListening);
+        doStartListening();
+    }
+
+    /**
+     * 연속 듣기 모드 설정
+     * 켜면 startListening() 후 결과/오류가 나와도 같은 인식기로 바로 다시 듣고, stopListening()으로 끝냄
+     * (말이 없어서 끝난 경우는 오류로 알리지 않음)
+     */
+    public void setContinuousMode(boolean continuous) {
+        continuousMode = continuous;
+        if (!continuous) {
+            sessionActive = false;
+            mainHandler.removeCallbacks(restartRunnable);
+        }
+    }
+
+    public boolean isContinuousMode() {
+        return continuousMode;
+    }
+
+    // 연속 듣기 재시작 (인식기는 그대로 사용, 오류가 계속되면 새로 만듦)
+    private void restartSession(boolean afterFailure) {
+        restartCount++;
+        mainHandler.removeCallbacks(restartRunnable);
+        if (consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+            Log.w(TAG, consecutiveErrors + " consecutive errors, recreating recognizer");
+            recreateRecognizer();
+        } else if (afterFailure && speechRecognizer != null) {
+            speechRecognizer.cancel();
+        }
+
+        if (afterFailure) {
+            mainHandler.postDelayed(restartRunnable, RESTART_BACKOFF_MS);
         } else {
-            doStartListening();
+            mainHandler.post(restartRunnable);
         }
     }
 
+    private void recreateRecognizer() {
+        recreateCount++;
+        consecutiveErrors = 0;
+        reinitialize();
+    }
+
+    // 인식 설정은 바뀌지 않으므로 한 번만 생성
+    private Intent getRecognizerIntent() {
+        if (recognizerIntent == null) {
+            Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.ENGLISH.toString());
+            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_PREFERENCE, "en-US");
+            intent.putExtra(RecognizerIntent.EXTRA_ONLY_RETURN_LANGUAGE_PREFERENCE, true);
+            intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
+            intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 3000);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 2000);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 1000);
+            recognizerIntent = intent;
+        }
+        return recognizerIntent;
+    }
+
     private void doStartListening() {
         Log.d(TAG, "=== doStartListening() called ===");
 
-        Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.ENGLISH.toString());
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_PREFERENCE, "en-US");
-        intent.putExtra(RecognizerIntent.EXTRA_ONLY_RETURN_LANGUAGE_PREFERENCE, true);
-        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
-        intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
-        intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 3000);
-        intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 2000);
-        intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 1000);
-
         if (speechRecognizer != null) {
             Log.d(TAG, "Starting speech recognition...");
+            resetVoiceActivity();
+            startRequestedAt = System.currentTimeMillis();
             try {
-                // Samsung 기기에서 약간의 지연이 필요할 수 있음
-                speechRecognizer.startListening(intent);
+                speechRecognizer.startListening(getRecognizerIntent());
                 Log.d(TAG, "startListening() called successfully");
             } catch (SecurityException se) {
                 Log.e(TAG, "SecurityException - permission issue: " + se.getMessage(), se);
@@ -231,13 +401,80 @@ public class SpeechRecognitionService {
         }
     }
 
+    // 기준값(소음 + TTS 스피커 소리)보다 큰 소리가 연속되면 음성 활동 후보로 판단
+    // 스피커 소리만으로도 기준값을 넘을 수 있으므로, 인식기가 부분 결과를 만든 뒤에만 알림
+    private void detectVoiceActivity(float rmsdB) {
+        if (voiceActivityReported || voiceEnergyDetected) {
+            return;
+        }
+        if (Float.isNaN(noiseFloorDb)) {
+            noiseFloorDb = rmsdB;
+            return;
+        }
+
+        if (rmsdB > noiseFloorDb + VOICE_MARGIN_DB) {
+            voiceFrames++;
+            if (voiceFrames >= VOICE_MIN_FRAMES) {
+                voiceEnergyDetected = true;
+                Log.d(TAG, "Voice energy detected (rms " + rmsdB + "dB, floor " + noiseFloorDb + "dB)");
+                reportVoiceActivityIfReady();
+            }
+        } else {
+            voiceFrames = 0;
+            noiseFloorDb += (rmsdB - noiseFloorDb) * NOISE_FLOOR_WEIGHT;
+        }
+    }
+
+    // 소리 크기 조건과 부분 인식 결과가 모두 있어야 음성 활동으로 알림 (듣기 1회당 한 번)
+    private void reportVoiceActivityIfReady() {
+        if (voiceActivityReported || !voiceEnergyDetected || lastPartialText == null) {
+            return;
+        }
+        voiceActivityReported = true;
+        Log.d(TAG, "Voice activity detected: " + lastPartialText);
+        if (listener != null) {
+            listener.onVoiceActivity(lastPartialText);
+        }
+    }
+
+    private void resetVoiceActivity() {
+        noiseFloorDb = Float.NaN;
+        voiceFrames = 0;
+        voiceEnergyDetected = false;
+        voiceActivityReported = false;
+    }
+
+    private void resetPartialResults() {
+        mainHandler.removeCallbacks(stablePartialRunnable);
+        lastPartialText = null;
+    }
+
     public void stopListening() {
+        sessionActive = false;
+        pendingStart = false;
+        mainHandler.removeCallbacks(restartRunnable);
+        resetPartialResults();
         if (speechRecognizer != null) {
             speechRecognizer.stopListening();
         }
     }
 
+    /**
+     * 진행 중인 인식을 결과 없이 취소 (연속 듣기 세션도 종료, 인식기는 유지)
+     */
+    public void cancel() {
+        sessionActive = false;
+        pendingStart = false;
+        mainHandler.removeCallbacks(restartRunnable);
+        resetPartialResults();
+        if (speechRecognizer != null) {
+            speechRecognizer.cancel();
+        }
+    }
+
     public void destroy() {
+        mainHandler.removeCallbacks(restartRunnable);
+        resetPartialResults();
         if (speechRecognizer != null) {
             speechRecognizer.destroy();
             speechRecognizer = null;
@@ -258,6 +495,37 @@ public class SpeechRecognitionService {
         this.listener = listener;
     }
 
+    /**
+     * 마지막 인식 시작 요청부터 듣기 준비 완료(onReadyForSpeech)까지 걸린 시간 (ms), 기록이 없으면 -1
+     */
+    public long getLastStartLatencyMs() {
+        return lastStartLatencyMs;
+    }
+
+    public long getAverageStartLatencyMs() {
+        return readyCount > 0 ? totalStartLatencyMs / readyCount : -1;
+    }
+
+    /**
+     * 연속 듣기에서 자동으로 다시 시작한 횟수
+     */
+    public int getRestartCount() {
+        return restartCount;
+    }
+
+    /**
+     * 오류 복구를 위해 인식기를 새로 만든 횟수
+     */
+    public int getRecreateCount() {
+        return recreateCount;
+    }
+
+    public String getStats() {
+        return "starts=" + readyCount + ", avgStartLatencyMs=" + getAverageStartLatencyMs()
+                + ", lastStartLatencyMs=" + lastStartLatencyMs + ", restarts=" + restartCount
+                + ", recreated=" + recreateCount;
+    }
+
     private String getErrorText(int errorCode) {
         switch (errorCode) {
             case SpeechRecognizer.ERROR_AUDIO:
@@ -1,21 +1,47 @@
 package com.cookandroid.justspeakapp.service;
 
 import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.os.Handler;
 import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+import android.speech.tts.Voice;
 import android.util.Log;
 
 import com.cookandroid.justspeakapp.BuildConfig;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TTS 서비스
  * Google Cloud TTS를 우선 사용하고, 실패 시 Android 기본 TTS로 폴백
+ * Android TTS 경로에서도 자주 쓰는 문장은 synthesizeToFile로 WAV를 만들어
+ * Cloud TTS와 같은 음성 캐시에 저장하고, 다음부터는 캐시 파일을 바로 재생
  */
 public class TextToSpeechService {
     private static final String TAG = "TTS";
 
+    // 같은 문장을 이만큼 읽으면 파일로 합성해 캐시에 저장
+    private static final int FREQUENT_PHRASE_THRESHOLD = 2;
+    private static final int MAX_TRACKED_PHRASES = 200;
+    private static final String RENDER_UTTERANCE_PREFIX = "render_";
+    private static final String SPEAK_UTTERANCE_PREFIX = "speak_";
+    private static final String ANDROID_CACHE_ENCODING = "WAV";
+    private static final int FADE_STEPS = 8; // 끼어들기 페이드아웃 단계 수
+
     private Context context;
+    private Handler mainHandler;
     private TextToSpeech androidTts;
     private GoogleCloudTTSService cloudTts;
 
@@ -26,12 +52,131 @@ public class TextToSpeechService {
     private float currentPitch = 1.0f;
     private String currentGender = "female";
 
+    // Android TTS 엔진에 마지막으로 적용한 값 (바뀐 경우에만 다시 설정)
+    private float appliedSpeed = -1f;
+    private float appliedPitch = -1f;
+
+    // Android TTS 파일 합성 캐시
+    private TtsAudioCache audioCache;
+    private MediaPlayer cachedClipPlayer;
+    private final Map<String, Integer> phraseCounts = new HashMap<>();
+    private final Map<String, PendingRender> pendingRenders = new ConcurrentHashMap<>();
+    private final AtomicInteger renderCounter = new AtomicInteger();
+
+    // synthesizeToFile 진행 중인 항목 (utteranceId별)
+    private static class PendingRender {
+        final String key;
+        final File tempFile;
+        final RenderCallback callback;
+
+        PendingRender(String key, File tempFile, RenderCallback callback) {
+            this.key = key;
+            this.tempFile = tempFile;
+            this.callback = callback;
+        }
+    }
+
+    private interface RenderCallback {
+        void onFinished(boolean success);
+    }
+
+    // 발화 큐 (UI 스레드에서만 접근)
+    private final List<Utterance> pendingUtterances = new ArrayList<>(); // 우선순위 순, 같은 우선순위는 추가 순
+    private final List<Utterance> activeUtterances = new ArrayList<>();  // 재생 엔진에 넘긴 발화 (맨 앞이 재생 중)
+    private final AtomicInteger utteranceCounter = new AtomicInteger();
+
+    // 발화 큐 지표
+    private int maxQueueDepth = 0;
+    private int startedUtteranceCount = 0;
+    private int cancelledUtteranceCount = 0;
+    private int bargeInCount = 0;
+
+    // 끼어들기 페이드아웃 (진행 중일 때만 null 아님)
+    private Runnable fadeRunnable;
+    private long totalUtteranceLatencyMs = 0;
+    private long lastUtteranceLatencyMs = -1;
+
+    private static class Utterance {
+        final int id;
+        final String text;
+        final Priority priority;
+        final CancellationToken token;
+        final UtteranceCallback callback;
+        final long queuedAt = System.currentTimeMillis();
+        boolean started;
+
+        Utterance(int id, String text, Priority priority, CancellationToken token, UtteranceCallback callback) {
+            this.id = id;
+            this.text = text;
+            this.priority = priority;
+            this.token = token;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * 발화 우선순위 (높은 것부터 재생)
+     */
+    public enum Priority {
+        LOW,
+        NORMAL,
+        HIGH
+    }
+
+    /**
+     * 여러 발화를 한 번에 취소하기 위한 토큰 (예: AI 응답 하나의 문장들)
+     * cancel()은 어느 스레드에서 호출해도 됨
+     */
+    public static class CancellationToken {
+        private volatile boolean cancelled = false;
+        private volatile Runnable onCancel;
+
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Runnable listener = onCancel;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void setOnCancel(Runnable onCancel) {
+            this.onCancel = onCancel;
+        }
+    }
+
+    /**
+     * 발화별 알림 (UI 스레드에서 호출)
+     * onDone은 재생이 끝난 경우(재생 실패 포함), onCancelled는 취소/끼어들기로 중지된 경우 호출
+     */
+    public interface UtteranceCallback {
+        default void onStart() {
+        }
+
+        default void onDone() {
+        }
+
+        default void onCancelled() {
+        }
+    }
+
     public interface OnInitListener {
         void onInit(boolean success);
     }
 
+    public interface BatchCallback {
+        void onComplete(int synthesized, int failed);
+    }
+
     public TextToSpeechService(Context context, final OnInitListener listener) {
         this.context = context;
+        this.mainHandler = new Handler(context.getMainLooper());
 
         // Google Cloud TTS API 키 확인
         String cloudTtsKey = BuildConfig.GOOGLE_CLOUD_TTS_KEY;
@@ -78,6 +223,10 @@ public class TextToSpeechService {
                     useCloudTts = false;
                     androidTts.setPitch(1.0f);
                     androidTts.setSpeechRate(1.0f);
+                    appliedPitch = 1.0f;
+                    appliedSpeed = 1.0f;
+                    audioCache = TtsAudioCache.getInstance(context);
+                    androidTts.setOnUtteranceProgressListener(androidProgressListener);
                     Log.d(TAG, "Android TTS initialized successfully");
                 }
 
@@ -103,7 +252,7 @@ public class TextToSpeechService {
         if (useCloudTts && cloudTts != null) {
             cloudTts.setSpeechRate(speed);
         } else if (androidTts != null) {
-            androidTts.setSpeechRate(speed);
+            applyAndroidVoiceParams();
         }
 
         Log.d(TAG, "Speech rate set to: " + speed);
@@ -126,7 +275,7 @@ public class TextToSpeechService {
             } else {
                 currentPitch = 1.3f;
             }
-            androidTts.setPitch(currentPitch);
+            applyAndroidVoiceParams();
             Log.d(TAG, "Android TTS pitch set to: " + currentPitch + " for gender: " + gender);
         }
     }
@@ -141,41 +290,196 @@ public class TextToSpeechService {
     }
 
     /**
-     * 텍스트 읽기
+     * 텍스트 읽기 (대기 중인 발화를 모두 취소하고 바로 재생)
+     * Cloud TTS는 문장 단위로 합성하여 첫 문장부터 재생
      */
     public void speak(String text) {
         if (!isInitialized) {
             Log.e(TAG, "TTS not initialized - cannot speak");
             return;
         }
+        cancelAll();
+        queue(text, Priority.NORMAL, null, null);
+    }
 
-        if (useCloudTts && cloudTts != null) {
-            // Google Cloud TTS 사용
-            Log.d(TAG, "Speaking with Google Cloud TTS: " + text);
-            cloudTts.speak(text);
-        } else if (androidTts != null) {
-            // Android TTS 사용
-            androidTts.setPitch(currentPitch);
-            androidTts.setSpeechRate(currentSpeed);
+    /**
+     * 현재 재생을 끊지 않고 뒤에 이어서 읽기
+     * 스트리밍 AI 응답을 문장 단위로 재생할 때 사용
+     */
+    public void enqueue(String text) {
+        queue(text, Priority.NORMAL, null, null);
+    }
+
+    /**
+     * 발화 큐에 추가 (UI 스레드에서 호출)
+     * 우선순위가 높은 발화가 먼저 재생되며, 같은 우선순위는 추가한 순서대로 재생
+     * HIGH는 재생 중인 낮은 우선순위 발화를 끊고 바로 재생
+     * token: 같은 토큰으로 추가한 발화를 한 번에 취소 (null 가능)
+     * callback: 발화별 시작/완료/취소 알림, UI 스레드에서 호출 (null 가능)
+     */
+    public void queue(String text, Priority priority, CancellationToken token, UtteranceCallback callback) {
+        if (!isInitialized) {
+            Log.e(TAG, "TTS not initialized - cannot queue");
+            if (callback != null) callback.onCancelled();
+            return;
+        }
+        if (token != null && token.isCancelled()) {
+            if (callback != null) callback.onCancelled();
+            return;
+        }
+        if (text == null || text.trim().isEmpty()) {
+            if (callback != null) callback.onDone();
+            return;
+        }
+        if (fadeRunnable != null) {
+            cancelAll(); // 끼어들기 페이드 중이면 바로 끝내고 새 발화 재생
+        }
+
+        Utterance utterance = new Utterance(utteranceCounter.incrementAndGet(), text.trim(),
+                priority, token, callback);
+        int position = 0;
+        while (position < pendingUtterances.size()
+                && pendingUtterances.get(position).priority.compareTo(priority) >= 0) {
+            position++;
+        }
+        pendingUtterances.add(position, utterance);
+        if (token != null) {
+            token.setOnCancel(() -> mainHandler.post(() -> cancel(token)));
+        }
+
+        int depth = getQueueDepth();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+
+        // 재생 중인 발화보다 급한 발화면 끊고 먼저 재생
+        if (priority == Priority.HIGH && !activeUtterances.isEmpty()
+                && activeUtterances.get(0).priority.compareTo(priority) < 0) {
+            interruptActive();
+        }
+        pump();
+    }
 
-            Log.d(TAG, "Speaking with Android TTS: " + text + " (pitch: " + currentPitch + ", speed: " + currentSpeed + ")");
-            int result = androidTts.speak(text, TextToSpeech.QUEUE_FLUSH, null, null);
-            if (result == TextToSpeech.ERROR) {
-                Log.e(TAG, "Error in Android TTS speak()");
+    /**
+     * 토큰으로 추가한 발화를 모두 취소 (재생 중이면 중지, UI 스레드에서 호출)
+     */
+    public void cancel(CancellationToken token) {
+        if (token == null) {
+            return;
+        }
+        token.cancelled = true;
+        for (int i = pendingUtterances.size() - 1; i >= 0; i--) {
+            Utterance utterance = pendingUtterances.get(i);
+            if (utterance.token == token) {
+                pendingUtterances.remove(i);
+                notifyCancelled(utterance);
             }
         }
+        for (Utterance utterance : activeUtterances) {
+            if (utterance.token == token) {
+                interruptActive();
+                break;
+            }
+        }
+        pump();
     }
 
-    public void stop() {
-        if (useCloudTts && cloudTts != null) {
-            cloudTts.stop();
+    /**
+     * 사용자가 말하기 시작할 때 호출 (음성 인식 시작 직전)
+     * 재생 중이거나 대기 중인 발화를 모두 취소하고, 끊은 경우 true
+     */
+    public boolean interruptForBargeIn() {
+        return interruptForBargeIn(0);
+    }
+
+    /**
+     * 끼어들기: 대기 중인 발화는 바로 취소하고, 재생 중인 발화는 fadeMs 동안 소리를 줄인 뒤 취소
+     * (Android TTS 엔진 재생은 음량 조절이 안 되므로 바로 중지)
+     * 페이드 중에 새 발화를 추가하면 페이드를 끝내고(취소) 새 발화를 재생
+     */
+    public boolean interruptForBargeIn(long fadeMs) {
+        if (getQueueDepth() == 0) {
+            return false;
         }
-        if (androidTts != null) {
-            androidTts.stop();
+        if (fadeRunnable != null) {
+            return true; // 이미 줄이는 중
+        }
+        bargeInCount++;
+        Log.d(TAG, "Barge-in: cancelling " + getQueueDepth() + " utterance(s), fade " + fadeMs + "ms");
+
+        for (Utterance utterance : pendingUtterances) {
+            notifyCancelled(utterance);
+        }
+        pendingUtterances.clear();
+
+        boolean canFade = fadeMs > 0 && !activeUtterances.isEmpty()
+                && ((useCloudTts && cloudTts != null) || cachedClipPlayer != null);
+        if (!canFade) {
+            cancelAll();
+            return true;
+        }
+
+        long stepMs = Math.max(1, fadeMs / FADE_STEPS);
+        fadeRunnable = new Runnable() {
+            private int step = 0;
+
+            @Override
+            public void run() {
+                step++;
+                if (step >= FADE_STEPS || activeUtterances.isEmpty()) {
+                    cancelAll();
+                    return;
+                }
+                // 음량을 곡선으로 줄여 끝부분이 갑자기 끊기지 않게 함
+                float remaining = 1f - (float) step / FADE_STEPS;
+                setPlaybackVolume(remaining * remaining);
+                mainHandler.postDelayed(this, stepMs);
+            }
+        };
+        mainHandler.post(fadeRunnable);
+        return true;
+    }
+
+    /**
+     * 재생하지 않고 미리 합성해 캐시에 저장
+     * onDone은 UI 스레드에서 호출 (null 가능)
+     */
+    public void prefetch(String text, Runnable onDone) {
+        if (isInitialized && useCloudTts && cloudTts != null) {
+            cloudTts.prefetch(text, onDone);
+        } else if (isInitialized && androidTts != null) {
+            renderAllToCache(Collections.singletonList(text),
+                    onDone == null ? null : (synthesized, failed) -> onDone.run());
+        } else if (onDone != null) {
+            onDone.run();
+        }
+    }
+
+    /**
+     * 여러 문장을 미리 합성해 캐시에 저장 (재생과 별도로 진행)
+     * Cloud TTS는 병렬 요청, Android TTS는 엔진 큐에서 순서대로 파일 합성
+     * callback은 UI 스레드에서 호출 (null 가능)
+     */
+    public void synthesizeAll(List<String> texts, BatchCallback callback) {
+        if (isInitialized && useCloudTts && cloudTts != null) {
+            cloudTts.synthesizeAll(texts, callback == null ? null : callback::onComplete);
+        } else if (isInitialized && androidTts != null) {
+            renderAllToCache(texts, callback);
+        } else if (callback != null) {
+            callback.onComplete(0, 0);
         }
     }
 
+    /**
+     * 재생 중지 및 대기 중인 발화 모두 취소
+     */
+    public void stop() {
+        cancelAll();
+    }
+
     public void shutdown() {
+        cancelAll();
+        Log.d(TAG, "Utterance queue: " + getQueueStats());
         if (cloudTts != null) {
             cloudTts.shutdown();
         }
@@ -183,17 +487,448 @@ public class TextToSpeechService {
             androidTts.stop();
             androidTts.shutdown();
         }
+        for (PendingRender render : pendingRenders.values()) {
+            render.tempFile.delete();
+        }
+        pendingRenders.clear();
+        if (audioCache != null) {
+            Log.d(TAG, "Android TTS audio cache: " + audioCache.getStats());
+        }
+    }
+
+    // ===== 발화 큐 =====
+
+    // 대기 중인 발화를 재생 엔진에 넘김
+    // Cloud TTS는 재생 중인 발화와 같은 토큰의 다음 발화를 하나 더 넘겨 미리 합성되게 함
+    private void pump() {
+        int lookahead = useCloudTts ? 2 : 1;
+        while (activeUtterances.size() < lookahead && !pendingUtterances.isEmpty()) {
+            if (!activeUtterances.isEmpty()) {
+                Utterance head = activeUtterances.get(0);
+                if (!head.started || head.token != pendingUtterances.get(0).token) {
+                    break;
+                }
+            }
+            Utterance next = pendingUtterances.remove(0);
+            activeUtterances.add(next);
+            dispatch(next);
+        }
+    }
+
+    private void dispatch(Utterance utterance) {
+        if (useCloudTts && cloudTts != null) {
+            Log.d(TAG, "Speaking with Google Cloud TTS: " + utterance.text);
+            cloudTts.enqueue(utterance.text, new GoogleCloudTTSService.SpeakCallback() {
+                @Override
+                public void onStart() {
+                    onUtteranceStarted(utterance);
+                }
+
+                @Override
+                public void onDone() {
+                    onUtteranceDone(utterance);
+                }
+
+                @Override
+                public void onError(String error) {
+                    Log.w(TAG, "Utterance #" + utterance.id + " error: " + error);
+                }
+            });
+            return;
+        }
+
+        // 파일로 합성해 둔 문장이면 캐시 파일을 바로 재생
+        String key = buildAndroidCacheKey(utterance.text);
+        File cached = audioCache != null ? audioCache.get(key) : null;
+        if (cached != null && playCachedClip(cached, utterance)) {
+            Log.d(TAG, "Playing cached Android TTS clip: " + utterance.text);
+            return;
+        }
+
+        applyAndroidVoiceParams();
+        Log.d(TAG, "Speaking with Android TTS: " + utterance.text + " (pitch: " + currentPitch + ", speed: " + currentSpeed + ")");
+        int result = androidTts.speak(utterance.text, TextToSpeech.QUEUE_ADD, null,
+                SPEAK_UTTERANCE_PREFIX + utterance.id);
+        if (result == TextToSpeech.ERROR) {
+            Log.e(TAG, "Error in Android TTS speak()");
+            mainHandler.post(() -> onUtteranceDone(utterance));
+            return;
+        }
+
+        // 자주 읽는 문장은 재생이 끝난 뒤(같은 엔진 큐) 파일로 합성해 캐시에 저장
+        if (countPhrase(utterance.text) >= FREQUENT_PHRASE_THRESHOLD) {
+            renderToCache(utterance.text, key, null);
+        }
+    }
+
+    private void onUtteranceStarted(Utterance utterance) {
+        if (utterance.started || !activeUtterances.contains(utterance)) {
+            return;
+        }
+        utterance.started = true;
+
+        // 큐에 넣은 시점부터 재생 시작까지 (대기 + 합성 시간)
+        long latencyMs = System.currentTimeMillis() - utterance.queuedAt;
+        lastUtteranceLatencyMs = latencyMs;
+        totalUtteranceLatencyMs += latencyMs;
+        startedUtteranceCount++;
+        Log.d(TAG, "Utterance #" + utterance.id + " started after " + latencyMs + "ms (queue depth "
+                + getQueueDepth() + ")");
+
+        if (utterance.callback != null) utterance.callback.onStart();
+        pump();
+    }
+
+    private void onUtteranceDone(Utterance utterance) {
+        if (!activeUtterances.remove(utterance)) {
+            return; // 이미 취소됨
+        }
+        if (utterance.callback != null) utterance.callback.onDone();
+        pump();
+    }
+
+    private void notifyCancelled(Utterance utterance) {
+        cancelledUtteranceCount++;
+        if (utterance.callback != null) utterance.callback.onCancelled();
+    }
+
+    // 재생 엔진에 넘긴 발화 중지: 재생을 시작했거나 토큰이 취소된 발화는 취소, 나머지는 대기열 앞으로 되돌림
+    private void interruptActive() {
+        stopPlayback();
+        List<Utterance> interrupted = new ArrayList<>(activeUtterances);
+        activeUtterances.clear();
+        for (int i = interrupted.size() - 1; i >= 0; i--) {
+            Utterance utterance = interrupted.get(i);
+            if (utterance.started || (utterance.token != null && utterance.token.isCancelled())) {
+                notifyCancelled(utterance);
+            } else {
+                pendingUtterances.add(0, utterance);
+            }
+        }
+    }
+
+    private void cancelAll() {
+        if (fadeRunnable != null) {
+            mainHandler.removeCallbacks(fadeRunnable);
+            fadeRunnable = null;
+        }
+        List<Utterance> cancelled = new ArrayList<>(activeUtterances);
+        cancelled.addAll(pendingUtterances);
+        activeUtterances.clear();
+        pendingUtterances.clear();
+        stopPlayback();
+        for (Utterance utterance : cancelled) {
+            notifyCancelled(utterance);
+        }
+    }
+
+    /**
+     * 참고: Android TTS는 재생과 파일 합성이 같은 큐를 쓰므로 멈추면 진행 중인 파일 합성도 취소됨
+     * (취소된 문장은 다음에 다시 자주 읽힐 때 합성)
+     */
+    private void stopPlayback() {
+        if (useCloudTts && cloudTts != null) {
+            cloudTts.stop();
+        }
+        stopCachedClip();
+        if (androidTts != null && androidTts.isSpeaking()) {
+            androidTts.stop();
+        }
+    }
+
+    private void setPlaybackVolume(float volume) {
+        if (useCloudTts && cloudTts != null) {
+            cloudTts.setVolume(volume);
+        }
+        if (cachedClipPlayer != null) {
+            cachedClipPlayer.setVolume(volume, volume);
+        }
+    }
+
+    private Utterance findActiveUtterance(String utteranceId) {
+        for (Utterance utterance : activeUtterances) {
+            if (utteranceId.equals(SPEAK_UTTERANCE_PREFIX + utterance.id)) {
+                return utterance;
+            }
+        }
+        return null;
+    }
+
+    // ===== Android TTS 파일 합성 캐시 =====
+
+    // 피치/속도가 바뀐 경우에만 엔진에 다시 설정
+    private void applyAndroidVoiceParams() {
+        if (androidTts == null) {
+            return;
+        }
+        if (appliedPitch != currentPitch) {
+            androidTts.setPitch(currentPitch);
+            appliedPitch = currentPitch;
+        }
+        if (appliedSpeed != currentSpeed) {
+            androidTts.setSpeechRate(currentSpeed);
+            appliedSpeed = currentSpeed;
+        }
+    }
+
+    // 엔진 음성 + 피치를 음성 이름으로 사용 (엔진/음성이 바뀌면 다른 키)
+    private String buildAndroidCacheKey(String text) {
+        Voice voice = null;
+        try {
+            voice = androidTts.getVoice();
+        } catch (Exception e) {
+            // 일부 엔진은 음성 조회를 지원하지 않음
+        }
+        String voiceName = "android:" + (voice != null ? voice.getName() : androidTts.getDefaultEngine())
+                + String.format(Locale.US, ":p%.2f", currentPitch);
+        return TtsAudioCache.buildKey(text, voiceName, currentSpeed, ANDROID_CACHE_ENCODING);
+    }
+
+    // 문장별 읽은 횟수 (UI 스레드에서만 접근)
+    private int countPhrase(String text) {
+        String normalized = text.trim().replaceAll("\\s+", " ");
+        if (phraseCounts.size() >= MAX_TRACKED_PHRASES && !phraseCounts.containsKey(normalized)) {
+            phraseCounts.clear();
+        }
+        Integer count = phraseCounts.get(normalized);
+        int next = count != null ? count + 1 : 1;
+        phraseCounts.put(normalized, next);
+        return next;
+    }
+
+    private boolean isRenderPending(String key) {
+        for (PendingRender render : pendingRenders.values()) {
+            if (render.key.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * synthesizeToFile로 캐시 폴더의 임시 파일에 합성, 완료되면 캐시로 옮김
+     * callback은 UI 스레드에서 호출 (null 가능)
+     */
+    private void renderToCache(String text, String key, RenderCallback callback) {
+        if (audioCache == null || audioCache.contains(key) || isRenderPending(key)) {
+            if (callback != null) callback.onFinished(false);
+            return;
+        }
+
+        File tempFile;
+        try {
+            tempFile = audioCache.createTempFile(key);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to create render file", e);
+            if (callback != null) callback.onFinished(false);
+            return;
+        }
+
+        String utteranceId = RENDER_UTTERANCE_PREFIX + renderCounter.incrementAndGet();
+        pendingRenders.put(utteranceId, new PendingRender(key, tempFile, callback));
+        applyAndroidVoiceParams();
+
+        int result = androidTts.synthesizeToFile(text, null, tempFile, utteranceId);
+        if (result == TextToSpeech.ERROR) {
+            Log.e(TAG, "Error in Android TTS synthesizeToFile()");
+            finishRender(utteranceId, false);
+        }
+    }
+
+    // 여러 문장을 중복 없이 파일 합성, 모두 끝나면 callback (UI 스레드)
+    private void renderAllToCache(List<String> texts, BatchCallback callback) {
+        Map<String, String> toRender = new LinkedHashMap<>();
+        for (String text : texts) {
+            if (text == null || text.trim().isEmpty()) {
+                continue;
+            }
+            String key = buildAndroidCacheKey(text);
+            if (!audioCache.contains(key) && !isRenderPending(key)) {
+                toRender.put(key, text);
+            }
+        }
+
+        if (toRender.isEmpty()) {
+            if (callback != null) callback.onComplete(0, 0);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(toRender.size());
+        AtomicInteger synthesized = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        for (Map.Entry<String, String> entry : toRender.entrySet()) {
+            renderToCache(entry.getValue(), entry.getKey(), success -> {
+                (success ? synthesized : failed).incrementAndGet();
+                if (remaining.decrementAndGet() == 0) {
+                    Log.d(TAG, "Android TTS render done: " + synthesized.get() + " synthesized, "
+                            + failed.get() + " failed");
+                    if (callback != null) callback.onComplete(synthesized.get(), failed.get());
+                }
+            });
+        }
+    }
+
+    // 합성 결과 처리 (엔진 스레드에서 호출될 수 있음, 파일 이동 후 UI 스레드로 결과 전달)
+    private void finishRender(String utteranceId, boolean success) {
+        PendingRender render = pendingRenders.remove(utteranceId);
+        if (render == null) {
+            return;
+        }
+
+        boolean stored = false;
+        if (success) {
+            stored = audioCache.putFile(render.key, render.tempFile) != null;
+        } else {
+            render.tempFile.delete();
+        }
+        Log.d(TAG, "Rendered " + render.key + ": " + (stored ? "cached" : "failed"));
+
+        if (render.callback != null) {
+            boolean result = stored;
+            mainHandler.post(() -> render.callback.onFinished(result));
+        }
+    }
+
+    // 재생(speak)과 파일 합성 모두 이 리스너로 알림이 옴 (엔진 스레드)
+    // 재생 알림은 UI 스레드로 넘겨 발화 큐에서 처리, stop()으로 중지된 재생은 이미 취소 처리됨
+    private final UtteranceProgressListener androidProgressListener = new UtteranceProgressListener() {
+        @Override
+        public void onStart(String utteranceId) {
+            if (utteranceId != null && utteranceId.startsWith(SPEAK_UTTERANCE_PREFIX)) {
+                mainHandler.post(() -> {
+                    Utterance utterance = findActiveUtterance(utteranceId);
+                    if (utterance != null) onUtteranceStarted(utterance);
+                });
+            }
+        }
+
+        @Override
+        public void onDone(String utteranceId) {
+            onAndroidUtteranceEnded(utteranceId, true);
+        }
+
+        @Override
+        public void onError(String utteranceId) {
+            onAndroidUtteranceEnded(utteranceId, false);
+        }
+
+        @Override
+        public void onStop(String utteranceId, boolean interrupted) {
+            finishRender(utteranceId, false);
+        }
+    };
+
+    private void onAndroidUtteranceEnded(String utteranceId, boolean success) {
+        if (utteranceId == null) {
+            return;
+        }
+        if (utteranceId.startsWith(SPEAK_UTTERANCE_PREFIX)) {
+            mainHandler.post(() -> {
+                Utterance utterance = findActiveUtterance(utteranceId);
+                if (utterance != null) onUtteranceDone(utterance);
+            });
+        } else {
+            finishRender(utteranceId, success);
+        }
+    }
+
+    // 캐시된 WAV 재생, 실패하면 false (엔진으로 읽도록)
+    private boolean playCachedClip(File file, Utterance utterance) {
+        stopCachedClip();
+
+        MediaPlayer player = new MediaPlayer();
+        player.setAudioAttributes(
+                new AudioAttributes.Builder()
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                        .setUsage(AudioAttributes.USAGE_MEDIA)
+                        .build());
+        try {
+            player.setDataSource(file.getAbsolutePath());
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to open cached clip", e);
+            player.release();
+            return false;
+        }
+
+        player.setOnPreparedListener(mp -> {
+            mp.start();
+            onUtteranceStarted(utterance);
+        });
+        player.setOnCompletionListener(mp -> {
+            releaseCachedClip(mp);
+            onUtteranceDone(utterance);
+        });
+        player.setOnErrorListener((mp, what, extra) -> {
+            Log.e(TAG, "Cached clip playback error: " + what + ", " + extra);
+            releaseCachedClip(mp);
+            onUtteranceDone(utterance);
+            return true;
+        });
+        cachedClipPlayer = player;
+        player.prepareAsync();
+        return true;
+    }
+
+    private void releaseCachedClip(MediaPlayer player) {
+        if (cachedClipPlayer == player) {
+            cachedClipPlayer = null;
+        }
+        player.release();
+    }
+
+    private void stopCachedClip() {
+        if (cachedClipPlayer != null) {
+            MediaPlayer player = cachedClipPlayer;
+            cachedClipPlayer = null;
+            player.release();
+        }
     }
 
     public boolean isInitialized() {
         return isInitialized;
     }
 
+    /**
+     * 재생 중이거나 재생을 기다리는 발화가 있으면 true (미리 합성 작업은 제외)
+     */
     public boolean isSpeaking() {
-        if (useCloudTts && cloudTts != null) {
-            return cloudTts.isSpeaking();
-        }
-        return androidTts != null && androidTts.isSpeaking();
+        return getQueueDepth() > 0;
+    }
+
+    /**
+     * 재생 중 + 대기 중인 발화 수
+     */
+    public int getQueueDepth() {
+        return pendingUtterances.size() + activeUtterances.size();
+    }
+
+    /**
+     * 마지막 발화의 큐 추가부터 재생 시작까지 걸린 시간 (ms), 기록이 없으면 -1
+     */
+    public long getLastUtteranceLatencyMs() {
+        return lastUtteranceLatencyMs;
+    }
+
+    public long getAverageUtteranceLatencyMs() {
+        return startedUtteranceCount > 0 ? totalUtteranceLatencyMs / startedUtteranceCount : -1;
+    }
+
+    public int getBargeInCount() {
+        return bargeInCount;
+    }
+
+    public String getQueueStats() {
+        return "depth=" + getQueueDepth() + ", maxDepth=" + maxQueueDepth
+                + ", started=" + startedUtteranceCount + ", cancelled=" + cancelledUtteranceCount
+                + ", bargeIns=" + bargeInCount + ", avgLatencyMs=" + getAverageUtteranceLatencyMs()
+                + ", lastLatencyMs=" + lastUtteranceLatencyMs;
+    }
+
+    /**
+     * Cloud TTS 첫 문장 재생 시작까지 걸린 시간 (ms), 기록이 없으면 -1
+     */
+    public long getLastTimeToFirstAudioMs() {
+        return cloudTts != null ? cloudTts.getLastTimeToFirstAudioMs() : -1;
     }
 
     public boolean isUsingCloudTts() {
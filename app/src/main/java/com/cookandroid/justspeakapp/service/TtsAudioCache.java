@@ -0,0 +1,287 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 합성된 TTS 음성 디스크 캐시 (프로세스당 1개)
+ * 텍스트 + 음성 이름 + 말하기 속도 + 인코딩의 해시를 키로 사용하며,
+ * 용량 제한을 넘으면 오래 사용되지 않은 항목부터 삭제 (LRU)
+ * 인사말, 고정 안내 문장처럼 반복되는 문장은 네트워크 없이 바로 재생
+ * (Cloud TTS 응답과 Android TTS로 파일 합성한 WAV를 같은 캐시에 저장)
+ */
+public class TtsAudioCache {
+    private static final String TAG = "TtsAudioCache";
+    private static final String CACHE_DIR_NAME = "tts_audio";
+    private static final long DEFAULT_MAX_BYTES = 20 * 1024 * 1024; // 20MB
+
+    private static volatile TtsAudioCache instance;
+
+    private final File diskDir;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private long totalBytes = 0;
+
+    // 파일 이름 → 크기 (접근 순서, 가장 오래 사용되지 않은 항목이 앞)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public static TtsAudioCache getInstance(Context context) {
+        TtsAudioCache cache = instance;
+        if (cache == null) {
+            synchronized (TtsAudioCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    cache = new TtsAudioCache(context.getApplicationContext());
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private TtsAudioCache(Context appContext) {
+        this(new File(appContext.getCacheDir(), CACHE_DIR_NAME));
+    }
+
+    // 캐시 폴더를 직접 지정 (단위 테스트용)
+    TtsAudioCache(File diskDir) {
+        this.diskDir = diskDir;
+        if (!diskDir.exists() && !diskDir.mkdirs()) {
+            Log.w(TAG, "Failed to create cache directory");
+        }
+        loadIndex();
+    }
+
+    // 기존 캐시 파일을 마지막 사용 시각 순서로 인덱스에 등록
+    private void loadIndex() {
+        File[] files = diskDir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                file.delete(); // 쓰다가 중단된 파일
+                continue;
+            }
+            index.put(file.getName(), file.length());
+            totalBytes += file.length();
+        }
+        Log.d(TAG, "Loaded " + index.size() + " cached clips (" + totalBytes + " bytes)");
+    }
+
+    /**
+     * 캐시 키 생성 (SHA-256)
+     * 텍스트는 앞뒤 공백 제거 + 연속 공백을 하나로 정규화
+     */
+    public static String buildKey(String text, String voiceName, float speakingRate, String encoding) {
+        String normalized = text == null ? "" : text.trim().replaceAll("\\s+", " ");
+        String raw = voiceName + "\n" + String.format(Locale.US, "%.2f", speakingRate)
+                + "\n" + encoding + "\n" + normalized;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString() + "." + encoding.toLowerCase(Locale.US);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256은 모든 Android 기기에서 지원되지만 만약을 대비
+            return Integer.toHexString(raw.hashCode()) + "_" + raw.length() + "." + encoding.toLowerCase(Locale.US);
+        }
+    }
+
+    /**
+     * 캐시된 음성 파일 조회, 없으면 null
+     * 파일은 캐시가 관리하므로 재생 후 삭제하지 말 것
+     */
+    public File get(String key) {
+        synchronized (this) {
+            // get()으로 조회해야 접근 순서(LRU)가 갱신됨 (containsKey는 순서를 바꾸지 않음)
+            if (index.get(key) == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+
+        File file = new File(diskDir, key);
+        if (!file.exists()) {
+            synchronized (this) {
+                Long size = index.remove(key);
+                if (size != null) totalBytes -= size;
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+
+        file.setLastModified(System.currentTimeMillis()); // 앱 재시작 후에도 LRU 순서 유지
+        hits.incrementAndGet();
+        return file;
+    }
+
+    /**
+     * 캐시에 있는지만 확인 (LRU 순서와 히트/미스 집계는 바꾸지 않음)
+     */
+    public synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * 디스크 조회 없이 캐시 미스만 집계 (contains로 이미 없음을 확인한 경우)
+     */
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * 음성 저장 후 캐시 파일 반환 (디스크 쓰기가 있으므로 백그라운드 스레드에서 호출)
+     * 저장에 실패하면 null
+     */
+    public File put(String key, byte[] audioData) {
+        return audioData == null ? null : put(key, audioData, audioData.length);
+    }
+
+    /**
+     * 버퍼의 앞부분(length 바이트)만 저장
+     */
+    public File put(String key, byte[] audioData, int length) {
+        if (audioData == null || length <= 0) {
+            return null;
+        }
+
+        // 임시 파일에 쓴 뒤 이름 변경 (재생 중인 같은 키의 파일이 덮어써지지 않도록)
+        // 일괄 합성에서 여러 스레드가 동시에 쓸 수 있으므로 임시 파일 이름은 매번 새로 만듦
+        File file = new File(diskDir, key);
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(key, ".tmp", diskDir);
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                out.write(audioData, 0, length);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write cache entry", e);
+            if (tempFile != null) tempFile.delete();
+            return null;
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            return null;
+        }
+
+        synchronized (this) {
+            Long previous = index.put(key, (long) length);
+            totalBytes += length - (previous != null ? previous : 0);
+            trimToSize(key);
+        }
+        return file;
+    }
+
+    /**
+     * 다른 곳에서 다 쓴 음성 파일을 캐시로 옮김 (Android TTS synthesizeToFile 결과 등)
+     * 원본 파일은 이동되며, 실패하면 원본을 삭제하고 null 반환
+     */
+    public File putFile(String key, File source) {
+        long length = source != null ? source.length() : 0;
+        if (length <= 0) {
+            if (source != null) source.delete();
+            return null;
+        }
+
+        File file = new File(diskDir, key);
+        if (!source.renameTo(file)) {
+            Log.w(TAG, "Failed to move " + source.getName() + " into cache");
+            source.delete();
+            return null;
+        }
+
+        synchronized (this) {
+            Long previous = index.put(key, length);
+            totalBytes += length - (previous != null ? previous : 0);
+            trimToSize(key);
+        }
+        return file;
+    }
+
+    /**
+     * 캐시 폴더 안에 임시 파일 생성 (putFile로 옮길 파일, 앱 재시작 시 남아 있으면 삭제됨)
+     */
+    public File createTempFile(String key) throws IOException {
+        return File.createTempFile(key, ".tmp", diskDir);
+    }
+
+    // 용량 초과 시 오래 사용되지 않은 항목부터 삭제 (방금 저장한 항목은 제외)
+    private void trimToSize(String keepKey) {
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(keepKey)) {
+                continue;
+            }
+            new File(diskDir, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 캐시 용량 제한 설정 (초과분은 바로 정리)
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        trimToSize(null);
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getSizeBytes() {
+        return totalBytes;
+    }
+
+    public synchronized void clear() {
+        for (String name : index.keySet()) {
+            new File(diskDir, name).delete();
+        }
+        index.clear();
+        totalBytes = 0;
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 전체 조회 중 캐시 히트 비율 (0.0 ~ 1.0)
+     */
+    public float getHitRate() {
+        int total = hits.get() + misses.get();
+        return total > 0 ? (float) hits.get() / total : 0f;
+    }
+
+    public synchronized String getStats() {
+        return "entries=" + index.size() + ", bytes=" + totalBytes + "/" + maxBytes
+                + ", hits=" + hits.get() + ", misses=" + misses.get() + ", hitRate=" + getHitRate();
+    }
+}
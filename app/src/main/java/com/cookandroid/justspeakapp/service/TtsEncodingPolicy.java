@@ -0,0 +1,192 @@
+package com.cookandroid.justspeakapp.service;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.Build;
+import android.util.Log;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cloud TTS 음성 인코딩 선택 정책 (프로세스당 1개)
+ * 측정한 다운로드 속도, 데이터 요금제 여부, 캐시 저장 여부에 따라 인코딩을 고르고
+ * 인코딩별 전송량/전송 시간/재생 준비(디코딩) 시간을 집계
+ */
+public class TtsEncodingPolicy {
+    private static final String TAG = "TtsEncodingPolicy";
+
+    // 측정 속도 기준 (bytes/ms = KB/s 근사, gzip을 푼 뒤의 본문 크기 기준)
+    private static final double SLOW_THROUGHPUT = 40;   // 약 320kbps 미만: 가장 작은 Opus
+    private static final double FAST_THROUGHPUT = 400;  // 약 3.2Mbps 이상: 디코딩 비용이 없는 LINEAR16
+    private static final double EWMA_WEIGHT = 0.3;      // 최근 측정값 반영 비율
+
+    /**
+     * Cloud TTS audioEncoding 값
+     * OGG_OPUS: 가장 작지만 디코딩 비용 있음 / MP3: 중간 / LINEAR16: 가장 크지만 디코딩 없이 바로 재생(WAV)
+     */
+    public enum Encoding {
+        OGG_OPUS,
+        MP3,
+        LINEAR16
+    }
+
+    private static class EncodingStats {
+        int utterances;
+        long bytes;
+        long transferMs;
+        long prepareMs;
+        int prepared;
+    }
+
+    private static volatile TtsEncodingPolicy instance;
+
+    private final ConnectivityManager connectivityManager;
+    private double throughputBytesPerMs = -1; // 아직 측정 전이면 -1
+    private final Map<Encoding, EncodingStats> stats = new EnumMap<>(Encoding.class);
+
+    public static TtsEncodingPolicy getInstance(Context context) {
+        TtsEncodingPolicy policy = instance;
+        if (policy == null) {
+            synchronized (TtsEncodingPolicy.class) {
+                policy = instance;
+                if (policy == null) {
+                    policy = new TtsEncodingPolicy(context.getApplicationContext());
+                    instance = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    private TtsEncodingPolicy(Context appContext) {
+        this.connectivityManager = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+        for (Encoding encoding : Encoding.values()) {
+            stats.put(encoding, new EncodingStats());
+        }
+    }
+
+    /**
+     * 인코딩 선택
+     * forCache: 바로 재생하지 않고 캐시에 저장하는 경우 (미리 합성) - 용량이 작은 Opus
+     */
+    public synchronized Encoding choose(boolean forCache) {
+        return choose(forCache, isMetered(), throughputBytesPerMs, supportsOggOpus());
+    }
+
+    // 기기 상태와 분리한 선택 규칙 (단위 테스트용)
+    // Opus를 재생할 수 없는 기기에서는 Opus 대신 MP3
+    static Encoding choose(boolean forCache, boolean metered, double throughputBytesPerMs, boolean opusSupported) {
+        Encoding small = opusSupported ? Encoding.OGG_OPUS : Encoding.MP3;
+        if (forCache || metered) {
+            return small;
+        }
+        if (throughputBytesPerMs < 0) {
+            return Encoding.MP3; // 측정 전에는 기존 기본값
+        }
+        if (throughputBytesPerMs < SLOW_THROUGHPUT) {
+            return small;
+        }
+        if (throughputBytesPerMs >= FAST_THROUGHPUT) {
+            return Encoding.LINEAR16;
+        }
+        return Encoding.MP3;
+    }
+
+    /**
+     * 캐시 조회 순서 (작은 인코딩부터, 어떤 인코딩으로 저장됐든 재사용)
+     * Opus를 재생할 수 없는 기기에서는 Opus 캐시를 사용하지 않음
+     */
+    public static Encoding[] cacheLookupOrder() {
+        return cacheLookupOrder(supportsOggOpus());
+    }
+
+    static Encoding[] cacheLookupOrder(boolean opusSupported) {
+        return opusSupported
+                ? new Encoding[]{Encoding.OGG_OPUS, Encoding.MP3, Encoding.LINEAR16}
+                : new Encoding[]{Encoding.MP3, Encoding.LINEAR16};
+    }
+
+    /**
+     * MediaPlayer는 Android 10(Q)부터 Ogg 컨테이너의 Opus를 재생할 수 있음
+     */
+    public static boolean supportsOggOpus() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q;
+    }
+
+    /**
+     * LINEAR16은 용량이 커서 캐시에 저장하지 않음 (다음에는 압축 인코딩으로 받음)
+     */
+    public static boolean isCacheable(Encoding encoding) {
+        return encoding != Encoding.LINEAR16;
+    }
+
+    private boolean isMetered() {
+        try {
+            return connectivityManager != null && connectivityManager.isActiveNetworkMetered();
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 응답 1건의 전송량/전송 시간 기록 및 다운로드 속도 갱신
+     * bytes는 OkHttp가 gzip 응답을 자동으로 푼 뒤의 본문 크기이므로 실제 네트워크 전송량보다 클 수 있음
+     * (속도도 압축을 푼 기준의 유효 속도이며, 인코딩 선택 기준값은 이 기준으로 정함)
+     */
+    public synchronized void recordTransfer(Encoding encoding, long bytes, long transferMs) {
+        EncodingStats entry = stats.get(encoding);
+        entry.utterances++;
+        entry.bytes += bytes;
+        entry.transferMs += transferMs;
+
+        // 너무 작은 응답은 지연 시간 위주라 속도 측정에서 제외
+        if (bytes >= 4096 && transferMs > 0) {
+            double sample = (double) bytes / transferMs;
+            throughputBytesPerMs = throughputBytesPerMs < 0
+                    ? sample
+                    : throughputBytesPerMs * (1 - EWMA_WEIGHT) + sample * EWMA_WEIGHT;
+        }
+        Log.d(TAG, String.format(Locale.US, "%s: %d bytes in %dms (throughput %.1f KB/s)",
+                encoding, bytes, transferMs, throughputBytesPerMs));
+    }
+
+    /**
+     * MediaPlayer 재생 준비(파싱/디코더 초기화) 시간 기록
+     */
+    public synchronized void recordPrepare(Encoding encoding, long prepareMs) {
+        EncodingStats entry = stats.get(encoding);
+        entry.prepared++;
+        entry.prepareMs += prepareMs;
+    }
+
+    public synchronized double getThroughputBytesPerMs() {
+        return throughputBytesPerMs;
+    }
+
+    public synchronized long getTotalBytesTransferred() {
+        long total = 0;
+        for (EncodingStats entry : stats.values()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    public synchronized String getStats() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<Encoding, EncodingStats> entry : stats.entrySet()) {
+            EncodingStats value = entry.getValue();
+            if (value.utterances == 0 && value.prepared == 0) {
+                continue;
+            }
+            if (builder.length() > 0) builder.append("; ");
+            builder.append(entry.getKey())
+                    .append(": utterances=").append(value.utterances)
+                    .append(", avgBytes=").append(value.utterances > 0 ? value.bytes / value.utterances : 0)
+                    .append(", avgTransferMs=").append(value.utterances > 0 ? value.transferMs / value.utterances : 0)
+                    .append(", avgPrepareMs=").append(value.prepared > 0 ? value.prepareMs / value.prepared : 0);
+        }
+        return builder.length() > 0 ? builder.toString() : "no transfers";
+    }
+}
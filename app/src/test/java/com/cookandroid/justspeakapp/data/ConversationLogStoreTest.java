@@ -0,0 +1,111 @@
+package com.cookandroid.justspeakapp.data;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConversationLogStoreTest {
+    private static final int HEADER_BYTES = 8; // 길이 + CRC32
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private File writeLog(String... payloads) throws IOException {
+        File file = tempFolder.newFile("user.log");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            for (String payload : payloads) {
+                ConversationLogStore.writeRecord(out, bytes(payload));
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void indexRecords_findsEveryRecordStart() throws IOException {
+        File file = writeLog("{\"a\":1}", "{\"bb\":22}", "{}");
+
+        List<Long> offsets = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long length = ConversationLogStore.indexRecords(raf, offsets);
+            assertEquals(file.length(), length);
+        }
+
+        long second = HEADER_BYTES + bytes("{\"a\":1}").length;
+        long third = second + HEADER_BYTES + bytes("{\"bb\":22}").length;
+        assertEquals(Arrays.asList(0L, second, third), offsets);
+    }
+
+    @Test
+    public void readRecord_returnsPayloadAtOffset() throws IOException {
+        File file = writeLog("first", "second");
+
+        List<Long> offsets = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            ConversationLogStore.indexRecords(raf, offsets);
+            assertArrayEquals(bytes("first"), ConversationLogStore.readRecord(raf, offsets.get(0)));
+            assertArrayEquals(bytes("second"), ConversationLogStore.readRecord(raf, offsets.get(1)));
+        }
+    }
+
+    @Test
+    public void indexRecords_truncatesTornTail() throws IOException {
+        File file = writeLog("complete-1", "complete-2");
+        long completeLength = file.length();
+
+        // 쓰다가 중단된 레코드: 헤더는 100바이트라고 했지만 본문은 일부만 기록됨
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            out.writeInt(100);
+            out.writeInt(0);
+            out.write(new byte[10]);
+        }
+
+        List<Long> offsets = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            assertEquals(completeLength, ConversationLogStore.indexRecords(raf, offsets));
+        }
+        assertEquals(2, offsets.size());
+        assertEquals(completeLength, file.length());
+    }
+
+    @Test
+    public void indexRecords_truncatesPartialHeader() throws IOException {
+        File file = writeLog("complete");
+        long completeLength = file.length();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{0, 0, 0}); // 헤더 일부만 기록됨
+        }
+
+        List<Long> offsets = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            assertEquals(completeLength, ConversationLogStore.indexRecords(raf, offsets));
+        }
+        assertEquals(1, offsets.size());
+        assertEquals(completeLength, file.length());
+    }
+
+    @Test
+    public void readRecord_corruptedPayload_returnsNull() throws IOException {
+        File file = writeLog("payload");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(HEADER_BYTES);
+            raf.write('X');
+            assertNull(ConversationLogStore.readRecord(raf, 0));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.cookandroid.justspeakapp.data;
+
+import com.cookandroid.justspeakapp.data.FirestoreSyncQueue.PendingWrite;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FirestoreSyncQueueTest {
+    private static Map<String, Object> fields(Object... keyValues) {
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            fields.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return fields;
+    }
+
+    @Test
+    public void coalesce_mergesWritesToSameDocument() {
+        LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+
+        assertFalse(FirestoreSyncQueue.coalesce(pending, "users/u1", fields("level", "Beginner", "score", 40), 100));
+        assertFalse(FirestoreSyncQueue.coalesce(pending, "users/u1/progress/daily", fields("completed", 1), 200));
+        assertTrue(FirestoreSyncQueue.coalesce(pending, "users/u1", fields("score", 80), 300));
+
+        assertEquals(Arrays.asList("users/u1", "users/u1/progress/daily"), new ArrayList<>(pending.keySet()));
+        PendingWrite user = pending.get("users/u1");
+        assertEquals("Beginner", user.fields.get("level"));
+        assertEquals(80, user.fields.get("score"));
+        assertEquals(100, user.queuedAt); // 처음 들어온 시각 유지
+    }
+
+    @Test
+    public void coalesce_copiesCallerFields() {
+        LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+        Map<String, Object> callerFields = fields("level", "Beginner");
+        FirestoreSyncQueue.coalesce(pending, "users/u1", callerFields, 0);
+
+        callerFields.put("level", "Advanced");
+        assertEquals("Beginner", pending.get("users/u1").fields.get("level"));
+    }
+
+    @Test
+    public void mergeRestored_putsFailedWritesFirst() {
+        List<PendingWrite> inFlight = Arrays.asList(
+                new PendingWrite("users/u1", fields("level", "Beginner"), 100),
+                new PendingWrite("users/u1/progress/a", fields("completed", 1), 110));
+        LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+        pending.put("users/u1/progress/b", new PendingWrite("users/u1/progress/b", fields("completed", 2), 200));
+
+        LinkedHashMap<String, PendingWrite> restored = FirestoreSyncQueue.mergeRestored(inFlight, pending);
+        assertEquals(Arrays.asList("users/u1", "users/u1/progress/a", "users/u1/progress/b"),
+                new ArrayList<>(restored.keySet()));
+    }
+
+    @Test
+    public void mergeRestored_newerValuesWinForSameDocument() {
+        List<PendingWrite> inFlight = Arrays.asList(
+                new PendingWrite("users/u1", fields("level", "Beginner", "score", 40), 100));
+        LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+        pending.put("users/u1/progress/a", new PendingWrite("users/u1/progress/a", fields("completed", 1), 200));
+        pending.put("users/u1", new PendingWrite("users/u1", fields("score", 90), 300));
+
+        LinkedHashMap<String, PendingWrite> restored = FirestoreSyncQueue.mergeRestored(inFlight, pending);
+
+        // 실패한 쓰기의 위치(가장 앞)를 유지하면서 이후 변경 값을 반영
+        assertEquals(Arrays.asList("users/u1", "users/u1/progress/a"), new ArrayList<>(restored.keySet()));
+        PendingWrite user = restored.get("users/u1");
+        assertEquals("Beginner", user.fields.get("level"));
+        assertEquals(90, user.fields.get("score"));
+        assertEquals(100, user.queuedAt);
+    }
+
+    @Test
+    public void checkSupportedValues_acceptsPrimitivesListsAndMaps() {
+        Map<String, Object> nested = fields("count", 3L, "ratio", 0.5);
+        FirestoreSyncQueue.checkSupportedValues(fields(
+                "level", "Beginner", "done", true, "score", 80, "missing", null,
+                "interests", Arrays.asList("travel", "food"), "stats", nested));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkSupportedValues_rejectsUnsupportedType() {
+        FirestoreSyncQueue.checkSupportedValues(fields("updated_at", new Date()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkSupportedValues_rejectsUnsupportedTypeInsideList() {
+        FirestoreSyncQueue.checkSupportedValues(fields("items", Arrays.asList("ok", new Object())));
+    }
+}
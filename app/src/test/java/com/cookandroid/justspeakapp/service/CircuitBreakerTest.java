@@ -0,0 +1,83 @@
+package com.cookandroid.justspeakapp.service;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+    @Test
+    public void opensAfterFailureThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+        breaker.recordFailure(0);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.recordFailure(0);
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void successResetsConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+        breaker.recordFailure(0);
+        breaker.recordSuccess();
+        breaker.recordFailure(0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void halfOpenAllowsSingleTrialRequest() {
+        // 대기 시간 0: 다음 요청부터 바로 HALF_OPEN
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.recordFailure(0);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void halfOpenFailureReopensForRetryAfter() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure(60_000);
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void ignoredFailureReturnsTrialSlot() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordIgnored();
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void abandonedTrialRequest_doesNotBlockBreaker() {
+        // 시험 요청 슬롯을 가져간 요청이 결과 기록 없이 버려진 경우 (예: 완료된 추측 응답 폐기)
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordIgnored();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
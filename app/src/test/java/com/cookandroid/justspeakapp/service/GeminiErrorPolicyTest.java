@@ -0,0 +1,76 @@
+package com.cookandroid.justspeakapp.service;
+
+import org.junit.Test;
+
+import java.net.UnknownHostException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class GeminiErrorPolicyTest {
+    @Test
+    public void classify_byExceptionType() {
+        assertEquals(GeminiErrorPolicy.ErrorType.TIMEOUT, GeminiErrorPolicy.classify(new TimeoutException()));
+        assertEquals(GeminiErrorPolicy.ErrorType.NETWORK,
+                GeminiErrorPolicy.classify(new ExecutionException(new UnknownHostException("host"))));
+    }
+
+    @Test
+    public void classify_byHttpStatus() {
+        assertEquals(GeminiErrorPolicy.ErrorType.SERVER,
+                GeminiErrorPolicy.classify(new RuntimeException("HTTP 503 Service Unavailable")));
+        assertEquals(GeminiErrorPolicy.ErrorType.RATE_LIMITED,
+                GeminiErrorPolicy.classify(new RuntimeException("{\"code\": 429}")));
+        assertEquals(GeminiErrorPolicy.ErrorType.AUTH,
+                GeminiErrorPolicy.classify(new RuntimeException("HTTP 403")));
+        assertEquals(GeminiErrorPolicy.ErrorType.CLIENT,
+                GeminiErrorPolicy.classify(new RuntimeException("HTTP 400")));
+    }
+
+    @Test
+    public void classify_byMessage() {
+        assertEquals(GeminiErrorPolicy.ErrorType.RATE_LIMITED,
+                GeminiErrorPolicy.classify(new RuntimeException("RESOURCE_EXHAUSTED: quota exceeded")));
+        assertEquals(GeminiErrorPolicy.ErrorType.UNKNOWN,
+                GeminiErrorPolicy.classify(new RuntimeException("something odd")));
+    }
+
+    @Test
+    public void getRetryDelayMs_notRetryable_returnsMinusOne() {
+        assertEquals(-1, GeminiErrorPolicy.getRetryDelayMs(new RuntimeException("HTTP 400"), 0));
+        assertEquals(-1, GeminiErrorPolicy.getRetryDelayMs(new RuntimeException("HTTP 401"), 0));
+    }
+
+    @Test
+    public void getRetryDelayMs_jitteredExponentialBackoff() {
+        TimeoutException timeout = new TimeoutException();
+        for (int i = 0; i < 20; i++) {
+            long first = GeminiErrorPolicy.getRetryDelayMs(timeout, 0);
+            assertTrue(first >= 250 && first <= 500);
+
+            long third = GeminiErrorPolicy.getRetryDelayMs(timeout, 2);
+            assertTrue(third >= 1000 && third <= 2000);
+
+            long capped = GeminiErrorPolicy.getRetryDelayMs(timeout, 30);
+            assertTrue(capped >= 4000 && capped <= 8000);
+        }
+    }
+
+    @Test
+    public void getRetryDelayMs_respectsServerRetryHint() {
+        RuntimeException shortHint = new RuntimeException("{\"code\": 429, \"retryDelay\": \"3s\"}");
+        assertEquals(3000, GeminiErrorPolicy.getRetryAfterMs(shortHint));
+        assertTrue(GeminiErrorPolicy.getRetryDelayMs(shortHint, 0) >= 3000);
+
+        // 너무 긴 대기를 요구하면 재시도하지 않음
+        RuntimeException longHint = new RuntimeException("{\"code\": 429, \"retryDelay\": \"37s\"}");
+        assertEquals(-1, GeminiErrorPolicy.getRetryDelayMs(longHint, 0));
+    }
+
+    @Test
+    public void getRetryAfterMs_noHint_returnsZero() {
+        assertEquals(0, GeminiErrorPolicy.getRetryAfterMs(new RuntimeException("HTTP 503")));
+        assertEquals(1500, GeminiErrorPolicy.getRetryAfterMs(new RuntimeException("retryDelay: 1.5s")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.cookandroid.justspeakapp.service;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SentenceSplitterTest {
+    @Test
+    public void split_nullOrBlank_returnsEmpty() {
+        assertTrue(SentenceSplitter.split(null).isEmpty());
+        assertTrue(SentenceSplitter.split("   ").isEmpty());
+    }
+
+    @Test
+    public void split_keepsFirstSentenceAndMergesShortOnes() {
+        List<String> sentences = SentenceSplitter.split("Hello there. How are you today? I am fine!");
+        assertEquals(Arrays.asList("Hello there.", "How are you today? I am fine!"), sentences);
+    }
+
+    @Test
+    public void split_longSentencesStaySeparate() {
+        List<String> sentences = SentenceSplitter.split(
+                "Welcome to the travel scenario. Let's practice checking in at a hotel today.");
+        assertEquals(Arrays.asList(
+                "Welcome to the travel scenario.",
+                "Let's practice checking in at a hotel today."), sentences);
+    }
+
+    @Test
+    public void split_doesNotBreakOnDecimalPoint() {
+        assertEquals(Arrays.asList("It costs 3.5 dollars."), SentenceSplitter.split("It costs 3.5 dollars."));
+    }
+
+    @Test
+    public void findLastSentenceEnd_requiresWhitespaceAfterPunctuation() {
+        assertEquals(15, SentenceSplitter.findLastSentenceEnd("First sentence. Second part", 0));
+        assertEquals(-1, SentenceSplitter.findLastSentenceEnd("No end yet", 0));
+        // 스트리밍 중에는 마지막 문장부호 뒤에 내용이 더 올 수 있으므로 완성으로 보지 않음
+        assertEquals(-1, SentenceSplitter.findLastSentenceEnd("Done.", 0));
+    }
+
+    @Test
+    public void findLastSentenceEnd_ignoresEndsBeforeFromIndex() {
+        assertEquals(-1, SentenceSplitter.findLastSentenceEnd("First sentence. Second part", 16));
+    }
+}
@@ -0,0 +1,106 @@
+package com.cookandroid.justspeakapp.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TtsAudioCacheTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private TtsAudioCache newCache(long maxBytes) throws IOException {
+        TtsAudioCache cache = new TtsAudioCache(tempFolder.newFolder("tts_audio"));
+        cache.setMaxBytes(maxBytes);
+        return cache;
+    }
+
+    @Test
+    public void put_overLimit_evictsLeastRecentlyUsed() throws IOException {
+        TtsAudioCache cache = newCache(250);
+        cache.put("a.mp3", new byte[100]);
+        cache.put("b.mp3", new byte[100]);
+        File c = cache.put("c.mp3", new byte[100]);
+
+        assertNotNull(c);
+        assertFalse(cache.contains("a.mp3"));
+        assertTrue(cache.contains("b.mp3"));
+        assertTrue(cache.contains("c.mp3"));
+        assertEquals(200, cache.getSizeBytes());
+    }
+
+    @Test
+    public void get_refreshesLruOrder() throws IOException {
+        TtsAudioCache cache = newCache(250);
+        cache.put("a.mp3", new byte[100]);
+        cache.put("b.mp3", new byte[100]);
+        assertNotNull(cache.get("a.mp3"));
+
+        cache.put("c.mp3", new byte[100]);
+        assertTrue(cache.contains("a.mp3"));
+        assertFalse(cache.contains("b.mp3"));
+    }
+
+    @Test
+    public void contains_doesNotRefreshLruOrder() throws IOException {
+        TtsAudioCache cache = newCache(250);
+        cache.put("a.mp3", new byte[100]);
+        cache.put("b.mp3", new byte[100]);
+        assertTrue(cache.contains("a.mp3"));
+
+        cache.put("c.mp3", new byte[100]);
+        assertFalse(cache.contains("a.mp3"));
+        assertTrue(cache.contains("b.mp3"));
+    }
+
+    @Test
+    public void put_keepsNewestEntryEvenIfOverLimit() throws IOException {
+        TtsAudioCache cache = newCache(50);
+        cache.put("a.mp3", new byte[10]);
+        cache.put("big.mp3", new byte[100]);
+
+        assertFalse(cache.contains("a.mp3"));
+        assertNotNull(cache.get("big.mp3"));
+    }
+
+    @Test
+    public void setMaxBytes_trimsExistingEntries() throws IOException {
+        TtsAudioCache cache = newCache(1000);
+        cache.put("a.mp3", new byte[100]);
+        cache.put("b.mp3", new byte[100]);
+
+        cache.setMaxBytes(150);
+        assertFalse(cache.contains("a.mp3"));
+        assertTrue(cache.contains("b.mp3"));
+    }
+
+    @Test
+    public void getAndRecordMiss_updateHitRate() throws IOException {
+        TtsAudioCache cache = newCache(1000);
+        cache.put("a.mp3", new byte[10]);
+        assertNotNull(cache.get("a.mp3"));
+        assertNull(cache.get("missing.mp3"));
+        cache.recordMiss();
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void reload_keepsEntriesAndDropsTempFiles() throws IOException {
+        File dir = tempFolder.newFolder("reload");
+        TtsAudioCache cache = new TtsAudioCache(dir);
+        cache.put("a.mp3", new byte[10]);
+        File leftover = new File(dir, "partial.tmp");
+        assertTrue(leftover.createNewFile());
+
+        TtsAudioCache reloaded = new TtsAudioCache(dir);
+        assertTrue(reloaded.contains("a.mp3"));
+        assertEquals(10, reloaded.getSizeBytes());
+        assertFalse(leftover.exists());
+    }
+}
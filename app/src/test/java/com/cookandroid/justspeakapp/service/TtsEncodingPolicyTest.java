@@ -0,0 +1,47 @@
+package com.cookandroid.justspeakapp.service;
+
+import com.cookandroid.justspeakapp.service.TtsEncodingPolicy.Encoding;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TtsEncodingPolicyTest {
+    @Test
+    public void choose_forCacheOrMetered_usesSmallestPlayableEncoding() {
+        assertEquals(Encoding.OGG_OPUS, TtsEncodingPolicy.choose(true, false, 1000, true));
+        assertEquals(Encoding.OGG_OPUS, TtsEncodingPolicy.choose(false, true, 1000, true));
+        // Android 10 미만: Opus 대신 MP3
+        assertEquals(Encoding.MP3, TtsEncodingPolicy.choose(true, false, 1000, false));
+        assertEquals(Encoding.MP3, TtsEncodingPolicy.choose(false, true, 1000, false));
+    }
+
+    @Test
+    public void choose_beforeMeasurement_usesMp3() {
+        assertEquals(Encoding.MP3, TtsEncodingPolicy.choose(false, false, -1, true));
+    }
+
+    @Test
+    public void choose_byThroughput() {
+        assertEquals(Encoding.OGG_OPUS, TtsEncodingPolicy.choose(false, false, 10, true));
+        assertEquals(Encoding.MP3, TtsEncodingPolicy.choose(false, false, 10, false));
+        assertEquals(Encoding.MP3, TtsEncodingPolicy.choose(false, false, 100, true));
+        assertEquals(Encoding.LINEAR16, TtsEncodingPolicy.choose(false, false, 500, true));
+        assertEquals(Encoding.LINEAR16, TtsEncodingPolicy.choose(false, false, 500, false));
+    }
+
+    @Test
+    public void cacheLookupOrder_skipsOpusWhenUnsupported() {
+        assertEquals(Encoding.OGG_OPUS, TtsEncodingPolicy.cacheLookupOrder(true)[0]);
+        assertFalse(Arrays.asList(TtsEncodingPolicy.cacheLookupOrder(false)).contains(Encoding.OGG_OPUS));
+    }
+
+    @Test
+    public void isCacheable_excludesLinear16() {
+        assertTrue(TtsEncodingPolicy.isCacheable(Encoding.OGG_OPUS));
+        assertTrue(TtsEncodingPolicy.isCacheable(Encoding.MP3));
+        assertFalse(TtsEncodingPolicy.isCacheable(Encoding.LINEAR16));
+    }
+}